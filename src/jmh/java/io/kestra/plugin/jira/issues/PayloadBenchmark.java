@@ -0,0 +1,125 @@
+package io.kestra.plugin.jira.issues;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import io.micronaut.context.ApplicationContext;
+
+/**
+ * CPU and allocation cost of building the request of a single task run, without any network call.
+ * Run with {@code ./gradlew jmh}; the {@code gc} profiler reports bytes allocated per operation as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PayloadBenchmark {
+    private static final URI ISSUE_URI = URI.create("http://localhost/rest/api/2/issue/");
+
+    @Param({"SMALL", "LARGE", "MANY_FIELDS"})
+    public String input;
+
+    private ApplicationContext applicationContext;
+
+    private Create create;
+
+    private CreateComment createComment;
+
+    private UpdateFields updateFields;
+
+    private RunContext createRunContext;
+
+    private RunContext createCommentRunContext;
+
+    private RunContext updateFieldsRunContext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.applicationContext = ApplicationContext.run();
+        RunContextFactory runContextFactory = this.applicationContext.getBean(RunContextFactory.class);
+
+        String text = switch (this.input) {
+            case "LARGE" -> "Execution {{ flow.id }} failed: " + "stack trace line\n".repeat(4096);
+            default -> "Execution {{ flow.id }} failed";
+        };
+        int count = this.input.equals("MANY_FIELDS") ? 200 : 3;
+
+        List<String> labels = IntStream.range(0, count).mapToObj(i -> "label-" + i).toList();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        IntStream.range(0, count).forEach(i -> fields.put("customfield_" + (10000 + i), i % 2 == 0 ? text : Map.of("value", "option-" + i)));
+
+        this.create = Create.builder()
+            .id("create")
+            .type(Create.class.getName())
+            .baseUrl("http://localhost")
+            .username(Property.ofValue("user@example.com"))
+            .password(Property.ofValue("api-token"))
+            .projectKey("PROJ")
+            .summary(Property.ofValue("Workflow failed"))
+            .description(text)
+            .labels(Property.ofValue(labels))
+            .issueTypeId(Property.ofValue("10001"))
+            .build();
+
+        this.createComment = CreateComment.builder()
+            .id("comment")
+            .type(CreateComment.class.getName())
+            .baseUrl("http://localhost")
+            .accessToken(Property.ofValue("access-token"))
+            .projectKey("PROJ")
+            .issueIdOrKey("PROJ-1")
+            .body(text)
+            .build();
+
+        this.updateFields = UpdateFields.builder()
+            .id("update")
+            .type(UpdateFields.class.getName())
+            .baseUrl("http://localhost")
+            .accessToken(Property.ofValue("access-token"))
+            .projectKey("PROJ")
+            .issueIdOrKey("PROJ-1")
+            .fields(Property.ofValue(fields))
+            .update(Property.ofValue(Map.of("labels", labels.stream().map(label -> Map.of("add", label)).toList())))
+            .build();
+
+        this.createRunContext = TestsUtils.mockRunContext(runContextFactory, this.create, Map.of());
+        this.createCommentRunContext = TestsUtils.mockRunContext(runContextFactory, this.createComment, Map.of());
+        this.updateFieldsRunContext = TestsUtils.mockRunContext(runContextFactory, this.updateFields, Map.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.applicationContext.close();
+    }
+
+    @Benchmark
+    public String createPayload() throws Exception {
+        return this.create.renderPayload(this.createRunContext);
+    }
+
+    @Benchmark
+    public String createCommentPayload() throws Exception {
+        return this.createComment.renderPayload(this.createCommentRunContext);
+    }
+
+    @Benchmark
+    public String updateFieldsPayload() throws Exception {
+        return this.updateFields.renderPayload(this.updateFieldsRunContext);
+    }
+
+    @Benchmark
+    public HttpRequest authorizedRequest() throws Exception {
+        return this.create.authorizedRequest(this.createRunContext, "POST", ISSUE_URI).build();
+    }
+}
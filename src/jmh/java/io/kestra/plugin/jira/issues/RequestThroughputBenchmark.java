@@ -0,0 +1,102 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+
+import io.micronaut.context.ApplicationContext;
+
+/**
+ * End-to-end throughput of {@link Create} runs against a local stub of the Jira issue API, with and without pooled
+ * HTTP clients. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class RequestThroughputBenchmark {
+    private static final byte[] RESPONSE = """
+        {"id": "10000", "key": "PROJ-1", "self": "http://localhost/rest/api/2/issue/10000"}
+        """.getBytes(StandardCharsets.UTF_8);
+
+    @Param({"false", "true"})
+    public boolean reuseConnections;
+
+    private ApplicationContext applicationContext;
+
+    private RunContextFactory runContextFactory;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private Create create;
+
+    private RunContext runContext;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(201, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        this.serverExecutor = Executors.newFixedThreadPool(8);
+        this.server.setExecutor(this.serverExecutor);
+        this.server.start();
+
+        this.applicationContext = ApplicationContext.run();
+        this.runContextFactory = this.applicationContext.getBean(RunContextFactory.class);
+
+        this.create = Create.builder()
+            .id("create")
+            .type(Create.class.getName())
+            .baseUrl("http://127.0.0.1:" + this.server.getAddress().getPort())
+            .username(Property.ofValue("user@example.com"))
+            .password(Property.ofValue("api-token"))
+            .projectKey("PROJ")
+            .summary(Property.ofValue("Workflow failed"))
+            .description("Execution {{ flow.id }} failed")
+            .labels(Property.ofValue(List.of("bug", "workflow")))
+            .issueTypeId(Property.ofValue("10001"))
+            .reuseConnections(Property.ofValue(this.reuseConnections))
+            .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void runContext() {
+        // metrics accumulate in the run context, start each iteration with an empty one
+        this.runContext = TestsUtils.mockRunContext(this.runContextFactory, this.create, Map.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+        this.applicationContext.close();
+    }
+
+    @Benchmark
+    public JiraTemplate.Output create() throws Exception {
+        return this.create.run(this.runContext);
+    }
+}
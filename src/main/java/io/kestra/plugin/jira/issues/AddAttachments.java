@@ -0,0 +1,228 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+import static io.kestra.plugin.jira.issues.JiraUtil.ATTACHMENTS_API_ROUTE;
+import static io.kestra.plugin.jira.issues.JiraUtil.ISSUE_API_ROUTE;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Attach files to a Jira issue",
+    description = "Uploads files from Kestra internal storage to `/rest/api/2/issue/{issueIdOrKey}/attachments`, one multipart request per file and up to `concurrency` files at the same time. " +
+        "Each file is streamed from internal storage into the request, so memory use does not depend on the file size. " +
+        "Files are named after the last segment of their URI."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Attach the logs of a failed task to an incident ticket.",
+            full = true,
+            code = """
+                id: jira_attach_logs
+                namespace: company.team
+
+                tasks:
+                  - id: logs
+                    type: io.kestra.plugin.core.log.Fetch
+                    level: INFO
+
+                  - id: attach
+                    type: io.kestra.plugin.jira.issues.AddAttachments
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    issueIdOrKey: INC-42
+                    files:
+                      - "{{ outputs.logs.uri }}"
+                """
+        )
+    }
+)
+public class AddAttachments extends JiraClient implements RunnableTask<AddAttachments.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(
+        title = "Issue key or id to attach the files to"
+    )
+    @PluginProperty(dynamic = true, group = "main")
+    @NotBlank
+    private String issueIdOrKey;
+
+    @Schema(
+        title = "Internal storage URIs of the files to attach"
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    private Property<List<String>> files;
+
+    @Schema(
+        title = "Maximum number of files uploaded at the same time"
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rBaseUrl = runContext.render(this.baseUrl);
+        String rIssueIdOrKey = runContext.render(this.issueIdOrKey);
+        List<String> rFiles = runContext.render(this.files).asList(String.class);
+        int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+
+        URI uri = URI.create(rBaseUrl + ISSUE_API_ROUTE + rIssueIdOrKey + ATTACHMENTS_API_ROUTE);
+        AtomicLong bytes = new AtomicLong();
+        long start = System.nanoTime();
+
+        List<Map<String, Object>> attachments = new ArrayList<>();
+        try (JiraHttpClient client = this.httpClient(runContext)) {
+            JiraBatch.run(
+                rFiles,
+                rConcurrency,
+                true,
+                file -> this.upload(runContext, client, uri, URI.create(file), bytes),
+                result -> attachments.addAll(result.output())
+            );
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        runContext.metric(Counter.of("files", rFiles.size()));
+        runContext.metric(Counter.of("upload.bytes", bytes.get()));
+        runContext.metric(Timer.of("upload.duration", duration));
+
+        return Output.builder()
+            .attachments(attachments)
+            .size(bytes.get())
+            .build();
+    }
+
+    private List<Map<String, Object>> upload(RunContext runContext, JiraHttpClient client, URI uri, URI file, AtomicLong bytes) throws Exception {
+        String boundary = "kestra-" + UUID.randomUUID();
+        String filename = filename(file);
+
+        try (InputStream content = new CountingInputStream(runContext.storage().getFile(file), bytes)) {
+            HttpRequest request = this.authorizedRequest(runContext, "POST", uri, "multipart/form-data; boundary=" + boundary)
+                .addHeader("X-Atlassian-Token", "no-check")
+                .body(HttpRequest.InputStreamRequestBody.builder().content(multipart(boundary, filename, content)).build())
+                .build();
+
+            AtomicReference<JsonNode> response = new AtomicReference<>();
+            client.request(request, throwConsumer(r -> response.set(MAPPER.readTree(r.getBody()))));
+            runContext.logger().debug("Attached '{}' to '{}'", filename, this.issueIdOrKey);
+
+            List<Map<String, Object>> attachments = new ArrayList<>();
+            if (response.get() != null && response.get().isArray()) {
+                for (JsonNode attachment : response.get()) {
+                    Map<String, Object> output = new LinkedHashMap<>();
+                    output.put("id", attachment.path("id").asText(null));
+                    output.put("filename", attachment.path("filename").asText(filename));
+                    output.put("size", attachment.path("size").asLong());
+                    output.put("content", attachment.path("content").asText(null));
+                    attachments.add(output);
+                }
+            }
+
+            return attachments;
+        }
+    }
+
+    static String filename(URI file) {
+        String path = file.getPath();
+        String name = path == null ? "" : path.substring(path.lastIndexOf('/') + 1);
+
+        return name.isEmpty() ? "attachment" : name;
+    }
+
+    /**
+     * A single-part {@code multipart/form-data} body around the file content, which is streamed and never buffered.
+     */
+    static InputStream multipart(String boundary, String filename, InputStream content) {
+        String safeFilename = filename.replace("\"", "%22").replace("\r", "").replace("\n", "");
+        byte[] head = ("--" + boundary + "\r\n" +
+            "Content-Disposition: form-data; name=\"file\"; filename=\"" + safeFilename + "\"\r\n" +
+            "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        return new SequenceInputStream(Collections.enumeration(List.of(
+            new ByteArrayInputStream(head),
+            content,
+            new ByteArrayInputStream(tail)
+        )));
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                this.count.incrementAndGet();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                this.count.addAndGet(read);
+            }
+            return read;
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Created attachments",
+            description = "`id`, `filename`, `size` and `content` URL of every attachment, in the order of `files`."
+        )
+        private final List<Map<String, Object>> attachments;
+
+        @Schema(title = "Number of bytes uploaded")
+        private final Long size;
+    }
+}
@@ -1,15 +1,29 @@
 package io.kestra.plugin.jira.issues;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.http.client.HttpClientResponseException;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVStoreException;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import static io.kestra.plugin.jira.issues.JiraUtil.COMMENT_API_ROUTE;
 import static io.kestra.plugin.jira.issues.JiraUtil.ISSUE_API_ROUTE;
 
 @SuperBuilder
@@ -19,7 +33,7 @@ import static io.kestra.plugin.jira.issues.JiraUtil.ISSUE_API_ROUTE;
 @NoArgsConstructor
 @Schema(
     title = "Create a Jira issue",
-    description = "Builds a JSON payload from `jira-template.peb` and posts to `/rest/api/2/issue/`. Renders project, summary, description, labels, and issue type with flow variables; template always adds a `kestra-bot` label."
+    description = "Builds a JSON payload from `jira-template.peb` and posts to `/rest/api/2/issue/`. Renders project, summary, description, labels, issue type, assignee and reporter with flow variables; template always adds a `kestra-bot` label. Outputs the `id`, `key` and `self` URL of the created issue. With `dedupMode`, an issue already created for the same deduplication key is returned instead of filing a duplicate."
 )
 @Plugin(
     examples = {
@@ -65,15 +79,233 @@ import static io.kestra.plugin.jira.issues.JiraUtil.ISSUE_API_ROUTE;
                       - workflow
                     issueTypeId: "10001"
                 """
+        ),
+        @Example(
+            title = "Create a single jira ticket for a flapping flow, commenting on it when the same failure happens again within a day.",
+            full = true,
+            code = """
+                id: jira_flow
+                namespace: company.myteam
+
+                tasks:
+                  - id: create_issue
+                    type: io.kestra.plugin.jira.issues.Create
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    projectKey: myproject
+                    summary: "Workflow {{ flow.id }} failed"
+                    labels:
+                      - bug
+                    issueType: Bug
+                    assignee: oncall@example.com
+                    dedupMode: COMMENT
+                    dedupTtl: P1D
+                """
         )
     }
 )
 public class Create extends JiraTemplate {
+    private static final String DEDUP_KV_PREFIX = "jira-dedup-";
+
+    // read timeout of the Kestra HTTP client when `options.timeout.readIdleTimeout` is not set
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final Duration CLAIM_POLL = Duration.ofMillis(500);
+
+    @Schema(
+        title = "Deduplication mode",
+        description = "`NONE` always creates a new issue. `RETURN_EXISTING` returns the issue previously created with the same deduplication key instead of creating a new one. " +
+            "`COMMENT` does the same and adds `dedupComment` to the existing issue, or creates a new one when the existing issue no longer exists. Keys are kept in the flow namespace KV store for `dedupTtl`, so no Jira search is needed. " +
+            "The key is claimed before the issue is created, so concurrent executions with the same key wait for the first one instead of filing duplicates. " +
+            "Deduplication is best-effort: the KV store has no compare-and-set, so executions claiming the same key at the same instant can still each create an issue. " +
+            "The claim lasts for `retryBudget` plus the HTTP timeout of every attempt, so that it does not expire while the issue is still being created."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<DedupMode> dedupMode = Property.ofValue(DedupMode.NONE);
+
+    @Schema(
+        title = "Deduplication key",
+        description = "Identifies duplicate issues of the same `baseUrl`; defaults to a hash of the rendered `projectKey`, `summary` and `labels`."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> dedupKey;
+
+    @Schema(
+        title = "How long a created issue is used for deduplication"
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Duration> dedupTtl = Property.ofValue(Duration.ofHours(1));
+
+    @Schema(
+        title = "Comment added to the existing issue",
+        description = "Only used when `dedupMode` is `COMMENT`."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<String> dedupComment = Property.ofExpression("Raised again by execution {{ execution.id }}");
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        DedupMode rDedupMode = runContext.render(this.dedupMode).as(DedupMode.class).orElse(DedupMode.NONE);
+        String rBaseUrl = runContext.render(this.baseUrl);
+
+        if (rDedupMode == DedupMode.NONE) {
+            return super.run(runContext);
+        }
+
+        String kvKey = DEDUP_KV_PREFIX + JiraUtil.sha256(rBaseUrl + "\n" + this.renderDedupKey(runContext));
+        KVStore kvStore = runContext.namespaceKv(runContext.flowInfo().namespace());
+
+        Optional<Map<?, ?>> existing = this.claim(runContext, kvStore, kvKey, this.claimTtl(runContext));
+        if (existing.isPresent()) {
+            Map<?, ?> issue = existing.get();
+            String issueKey = String.valueOf(issue.get("key"));
+
+            if (rDedupMode == DedupMode.COMMENT) {
+                String comment = runContext.render(this.dedupComment).as(String.class).orElseThrow();
+                try {
+                    this.request(
+                        runContext,
+                        "POST",
+                        rBaseUrl + ISSUE_API_ROUTE + issueKey + COMMENT_API_ROUTE,
+                        JacksonMapper.ofJson().writeValueAsString(Map.of("body", comment))
+                    );
+                } catch (HttpClientResponseException e) {
+                    if (e.getResponse() == null || e.getResponse().getStatus().getCode() != 404) {
+                        throw e;
+                    }
+                    // the issue was deleted or moved since it was stored
+                    runContext.logger().warn("Issue '{}' stored for this deduplication key no longer exists, creating a new one", issueKey);
+                    kvStore.delete(kvKey);
+
+                    return this.run(runContext);
+                }
+            }
+
+            runContext.logger().info("Issue '{}' was already created for this deduplication key, skipping creation", issueKey);
+            runContext.metric(Counter.of("dedup.hit", 1));
+
+            return Output.builder()
+                .id(issue.get("id") == null ? null : String.valueOf(issue.get("id")))
+                .key(issueKey)
+                .self(issue.get("self") == null ? null : URI.create(String.valueOf(issue.get("self"))))
+                .duplicate(true)
+                .build();
+        }
+
+        runContext.metric(Counter.of("dedup.miss", 1));
+        Output output;
+        try {
+            output = super.run(runContext);
+        } catch (Exception e) {
+            // releases the claim, so that the next execution tries again
+            kvStore.delete(kvKey);
+            throw e;
+        }
+
+        if (output.getKey() == null) {
+            kvStore.delete(kvKey);
+            return output;
+        }
+
+        Map<String, String> issue = new HashMap<>(Map.of("key", output.getKey()));
+        if (output.getId() != null) {
+            issue.put("id", output.getId());
+        }
+        if (output.getSelf() != null) {
+            issue.put("self", output.getSelf().toString());
+        }
+
+        kvStore.put(kvKey, new KVValueAndMetadata(
+            new KVMetadata("Jira issue created by " + this.getId(), runContext.render(this.dedupTtl).as(Duration.class).orElseThrow()),
+            issue
+        ));
+
+        return output;
+    }
+
+    /**
+     * Returns the issue stored for the key, or claims the key so that concurrent executions with the same key wait for
+     * the issue this one creates instead of filing their own. The claim expires after {@code claimTtl}, in case the
+     * execution holding it dies before storing its issue.
+     * <p>
+     * This is best-effort: {@link KVStore#put} without overwrite checks that the key is absent and then writes it, so
+     * two executions claiming at the same instant can both succeed and both create an issue.
+     */
+    private Optional<Map<?, ?>> claim(RunContext runContext, KVStore kvStore, String kvKey, Duration claimTtl) throws Exception {
+        long deadline = System.nanoTime() + 2 * claimTtl.toNanos();
+
+        while (true) {
+            Optional<KVValue> existing = kvStore.getValue(kvKey);
+            if (existing.isEmpty()) {
+                try {
+                    kvStore.put(kvKey, new KVValueAndMetadata(new KVMetadata("Jira issue being created by " + this.getId(), claimTtl), Map.of("pending", true)), false);
+                    return Optional.empty();
+                } catch (KVStoreException e) {
+                    // claimed by another execution since the lookup
+                }
+            } else if (existing.get().value() instanceof Map<?, ?> issue && issue.containsKey("key")) {
+                return Optional.of(issue);
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Timed out waiting for another execution to create the issue of this deduplication key");
+            }
+            runContext.logger().debug("Another execution is creating the issue of this deduplication key, waiting for it");
+            Thread.sleep(CLAIM_POLL.toMillis());
+        }
+    }
+
+    /**
+     * The longest the creation can take: every attempt may run into the HTTP timeout, and the retries wait for up to
+     * {@code retryBudget} in total.
+     */
+    private Duration claimTtl(RunContext runContext) throws IllegalVariableEvaluationException {
+        Duration timeout = DEFAULT_READ_TIMEOUT;
+        if (this.options != null && this.options.getTimeout() != null) {
+            timeout = runContext.render(this.options.getTimeout().getConnectTimeout()).as(Duration.class).orElse(Duration.ZERO)
+                .plus(runContext.render(this.options.getTimeout().getReadIdleTimeout()).as(Duration.class).orElse(DEFAULT_READ_TIMEOUT));
+        }
+
+        int attempts = runContext.render(this.maxRetries).as(Integer.class).orElse(3) + 1;
+
+        return runContext.render(this.retryBudget).as(Duration.class).orElse(Duration.ofSeconds(30))
+            .plus(timeout.multipliedBy(attempts));
+    }
+
+    private String renderDedupKey(RunContext runContext) throws IllegalVariableEvaluationException {
+        var renderedDedupKey = runContext.render(this.dedupKey).as(String.class);
+        if (renderedDedupKey.isPresent()) {
+            return renderedDedupKey.get();
+        }
+
+        List<String> renderedLabels = new ArrayList<>(runContext.render(this.labels).asList(String.class));
+        Collections.sort(renderedLabels);
+
+        return String.join(
+            "\n",
+            runContext.render(this.projectKey),
+            runContext.render(this.summary).as(String.class).orElse(""),
+            String.join(",", renderedLabels)
+        );
+    }
+
     @Override
-    public VoidOutput run(RunContext runContext) throws Exception {
-        this.templateUri = Property.ofValue("jira-template.peb");
-        this.baseUrl = this.baseUrl + ISSUE_API_ROUTE;
+    protected String route(RunContext runContext) {
+        return ISSUE_API_ROUTE;
+    }
+
+    @Override
+    protected String defaultTemplateUri() {
+        return "jira-template.peb";
+    }
 
-        return super.run(runContext);
+    public enum DedupMode {
+        NONE,
+        RETURN_EXISTING,
+        COMMENT
     }
 }
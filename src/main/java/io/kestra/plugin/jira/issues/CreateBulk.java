@@ -0,0 +1,352 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.util.function.Tuple2;
+
+import static io.kestra.plugin.jira.issues.JiraUtil.BULK_ISSUE_API_ROUTE;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Create many Jira issues in bulk",
+    description = "Reads issue specs from a list or an internal storage file (ION/JSONL), groups them in chunks of up to 50 and posts each chunk to `/rest/api/2/issue/bulk`, sending up to `concurrency` chunks at the same time. " +
+        "Each row accepts the same keys as `Create` (`projectKey`, `summary`, `description`, `labels`, `issueTypeId`, `assignee`, `reporter`) plus an optional raw `fields` map; the template `kestra-bot` label is always added. " +
+        "Outputs an ION file with the created issue or the Jira error for every row, in input order."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Create one Jira issue per failed partition listed in an internal storage file.",
+            full = true,
+            code = """
+                id: jira_bulk_create
+                namespace: company.team
+
+                inputs:
+                  - id: partitions
+                    type: FILE
+
+                tasks:
+                  - id: create_issues
+                    type: io.kestra.plugin.jira.issues.CreateBulk
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    projectKey: myproject
+                    issueTypeId: "10001"
+                    from: "{{ inputs.partitions }}"
+                    concurrency: 4
+                """
+        ),
+        @Example(
+            title = "Create a few Jira issues from an inline list.",
+            full = true,
+            code = """
+                id: jira_bulk_create_list
+                namespace: company.team
+
+                tasks:
+                  - id: create_issues
+                    type: io.kestra.plugin.jira.issues.CreateBulk
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    projectKey: myproject
+                    from:
+                      - summary: "Partition 2024-01-01 failed"
+                        labels:
+                          - partition
+                      - summary: "Partition 2024-01-02 failed"
+                        description: "{{ execution.id }} could not load the partition"
+                """
+        )
+    }
+)
+public class CreateBulk extends JiraClient implements RunnableTask<CreateBulk.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private static final int MAX_CHUNK_SIZE = 50;
+
+    // row keys holding users given by email address, display name or account id
+    private static final List<String> USER_KEYS = List.of("assignee", "reporter");
+
+    @Schema(
+        title = "Issues to create",
+        description = "Either a list of issue specs (rendered) or the internal storage URI of an ION/JSONL file holding one issue spec per row.",
+        anyOf = {String.class, List.class}
+    )
+    @PluginProperty(dynamic = true, group = "main")
+    @NotNull
+    private Object from;
+
+    @Schema(
+        title = "Default project key",
+        description = "Used for rows that do not define their own `projectKey`."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> projectKey;
+
+    @Schema(
+        title = "Default issue type ID",
+        description = "Used for rows that do not define their own `issueTypeId`."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> issueTypeId;
+
+    @Schema(
+        title = "Issues per bulk request",
+        description = "Jira accepts at most 50 issues per bulk request."
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Max(MAX_CHUNK_SIZE)
+    @Builder.Default
+    private Property<Integer> chunkSize = Property.ofValue(MAX_CHUNK_SIZE);
+
+    @Schema(
+        title = "Maximum number of bulk requests sent at the same time"
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        URI uri = URI.create(runContext.render(this.baseUrl) + BULK_ISSUE_API_ROUTE);
+        int rChunkSize = Math.min(runContext.render(this.chunkSize).as(Integer.class).orElse(MAX_CHUNK_SIZE), MAX_CHUNK_SIZE);
+        int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+        String rProjectKey = runContext.render(this.projectKey).as(String.class).orElse(null);
+        String rIssueTypeId = runContext.render(this.issueTypeId).as(String.class).orElse(null);
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        AtomicLong created = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        try (
+            JiraHttpClient client = this.httpClient(runContext);
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE);
+            Stream<Tuple2<Long, List<Map<String, Object>>>> chunks = JiraUtil.readRows(runContext, this.from).buffer(rChunkSize).index().toStream()
+        ) {
+            // a failed chunk is reported row by row in the result file, it never stops the other chunks
+            JiraBatch.run(
+                chunks::iterator,
+                rConcurrency,
+                false,
+                chunk -> this.createChunk(runContext, client, uri, (int) (chunk.getT1() * rChunkSize), chunk.getT2(), rProjectKey, rIssueTypeId),
+                chunk -> {
+                    List<Map<String, Object>> results = chunk.failed()
+                        ? failedChunk((int) (chunk.item().getT1() * rChunkSize), chunk.item().getT2().size(), Map.of("message", String.valueOf(chunk.error().getMessage())))
+                        : chunk.output();
+                    for (Map<String, Object> result : results) {
+                        if (result.containsKey("error")) {
+                            failed.incrementAndGet();
+                        } else {
+                            created.incrementAndGet();
+                        }
+                        FileSerde.write(output, result);
+                    }
+                }
+            );
+        }
+
+        runContext.metric(Counter.of("created", created.get()));
+        runContext.metric(Counter.of("failed", failed.get()));
+
+        if (failed.get() > 0) {
+            runContext.logger().warn("{} issue(s) could not be created, see the result file for details", failed.get());
+        }
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .created(created.get())
+            .failed(failed.get())
+            .build();
+    }
+
+    private List<Map<String, Object>> createChunk(
+        RunContext runContext,
+        JiraHttpClient client,
+        URI uri,
+        int offset,
+        List<Map<String, Object>> rows,
+        String defaultProjectKey,
+        String defaultIssueTypeId
+    ) throws Exception {
+        // each distinct user of the chunk is resolved once, and chunks in flight share the lookups of the worker-wide cache
+        Map<String, String> accountIds = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            for (String key : USER_KEYS) {
+                if (row.get(key) instanceof String user && !user.isBlank() && !accountIds.containsKey(user)) {
+                    accountIds.put(user, this.resolveAccountId(runContext, client, user));
+                }
+            }
+        }
+
+        List<Map<String, Object>> issueUpdates = rows.stream()
+            .map(row -> issueUpdate(row, defaultProjectKey, defaultIssueTypeId, accountIds))
+            .toList();
+
+        HttpRequest request = this.authorizedRequest(runContext, "POST", uri)
+            .body(HttpRequest.StringRequestBody.builder()
+                .content(MAPPER.writeValueAsString(Map.of("issueUpdates", issueUpdates)))
+                .build()
+            )
+            .build();
+
+        String body;
+        try {
+            body = client.requestString(request);
+            runContext.logger().debug("Bulk request for rows {} to {} succeeded", offset, offset + rows.size() - 1);
+        } catch (HttpClientResponseException e) {
+            // Jira answers with a 400 when every issue of the chunk failed, the body still holds the per-row errors
+            body = e.getResponse() == null ? null : bodyAsString(e.getResponse().getBody());
+            if (body == null || body.isBlank()) {
+                return failedChunk(offset, rows.size(), Map.of("message", e.getMessage()));
+            }
+        } catch (Exception e) {
+            runContext.logger().error("Bulk request for rows {} to {} failed", offset, offset + rows.size() - 1, e);
+            return failedChunk(offset, rows.size(), Map.of("message", String.valueOf(e.getMessage())));
+        }
+
+        return chunkResults(offset, rows.size(), MAPPER.readTree(body));
+    }
+
+    private static Map<String, Object> issueUpdate(Map<String, Object> row, String defaultProjectKey, String defaultIssueTypeId, Map<String, String> accountIds) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        Object projectKey = row.getOrDefault("projectKey", defaultProjectKey);
+        if (projectKey == null) {
+            throw new IllegalArgumentException("Missing 'projectKey' on row " + row + " and no default 'projectKey' is set");
+        }
+        fields.put("project", Map.of("key", projectKey));
+
+        if (row.get("summary") != null) {
+            fields.put("summary", row.get("summary"));
+        }
+        if (row.get("description") != null) {
+            fields.put("description", row.get("description"));
+        }
+
+        Object issueTypeId = row.getOrDefault("issueTypeId", defaultIssueTypeId);
+        if (issueTypeId != null) {
+            fields.put("issuetype", Map.of("id", String.valueOf(issueTypeId)));
+        }
+
+        for (String key : USER_KEYS) {
+            if (row.get(key) instanceof String user && accountIds.containsKey(user)) {
+                fields.put(key, JiraUsers.user(accountIds.get(user)));
+            }
+        }
+
+        List<Object> labels = new ArrayList<>(List.of("kestra-bot"));
+        if (row.get("labels") instanceof Collection<?> rowLabels) {
+            labels.addAll(rowLabels);
+        }
+        fields.put("labels", labels);
+
+        if (row.get("fields") instanceof Map<?, ?> extraFields) {
+            extraFields.forEach((key, value) -> fields.put(String.valueOf(key), value));
+        }
+
+        return Map.of("fields", fields);
+    }
+
+    private static List<Map<String, Object>> chunkResults(int offset, int size, JsonNode response) {
+        Map<Integer, JsonNode> errors = new HashMap<>();
+        response.path("errors").forEach(error -> errors.put(error.path("failedElementNumber").asInt(), error));
+
+        // created issues are returned in request order, skipping the failed elements
+        Iterator<JsonNode> issues = response.path("issues").elements();
+
+        List<Map<String, Object>> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("row", offset + i);
+
+            JsonNode error = errors.get(i);
+            if (error != null) {
+                result.put("status", error.path("status").asInt());
+                result.put("error", MAPPER.convertValue(error.path("elementErrors"), new TypeReference<Map<String, Object>>() {}));
+            } else if (issues.hasNext()) {
+                JsonNode issue = issues.next();
+                result.put("id", issue.path("id").asText());
+                result.put("key", issue.path("key").asText());
+                result.put("self", issue.path("self").asText());
+            } else {
+                result.put("error", Map.of("message", "No result returned by Jira for this row"));
+            }
+
+            results.add(result);
+        }
+
+        return results;
+    }
+
+    private static List<Map<String, Object>> failedChunk(int offset, int size, Map<String, Object> error) {
+        List<Map<String, Object>> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(Map.of("row", offset + i, "error", error));
+        }
+
+        return results;
+    }
+
+    private static String bodyAsString(Object body) {
+        if (body == null) {
+            return null;
+        }
+
+        return body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of the result file",
+            description = "ION file with one row per input issue, in input order: `row`, then either `id`, `key` and `self` of the created issue or the Jira `error`."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of created issues")
+        private final Long created;
+
+        @Schema(title = "Number of issues that could not be created")
+        private final Long failed;
+    }
+}
@@ -1,18 +1,11 @@
 package io.kestra.plugin.jira.issues;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.Objects;
-
-import org.apache.commons.io.IOUtils;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
-import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
@@ -32,7 +25,7 @@ import static io.kestra.plugin.jira.issues.JiraUtil.ISSUE_API_ROUTE;
 @NoArgsConstructor
 @Schema(
     title = "Add a comment to a Jira issue",
-    description = "Renders the issue key and comment body, fills `comment-jira-template.peb`, then posts to `/rest/api/2/issue/{issueIdOrKey}/comment`. Uses the same authentication fields as other Jira tasks."
+    description = "Renders the issue key and comment body, fills `comment-jira-template.peb`, then posts to `/rest/api/2/issue/{issueIdOrKey}/comment`. Uses the same authentication fields as other Jira tasks. Outputs the `id` and `self` URL of the created comment."
 )
 @Plugin(
     examples = {
@@ -67,28 +60,27 @@ public class CreateComment extends JiraTemplate {
 
     @Schema(
         title = "Comment text",
-        description = "Rendered markdown or text inserted as `body` via `comment-jira-template.peb`."
+        description = "Rendered markdown or text inserted as `body` via `comment-jira-template.peb`, escaped for a JSON string."
     )
     @PluginProperty(dynamic = true, group = "main")
     @NotBlank
     protected String body;
 
-    @SuppressWarnings("unchecked")
     @Override
-    public VoidOutput run(RunContext runContext) throws Exception {
-        this.templateUri = Property.ofValue("comment-jira-template.peb");
-        this.baseUrl += ISSUE_API_ROUTE + runContext.render(this.issueIdOrKey) + COMMENT_API_ROUTE;
-
-        String template = IOUtils.toString(
-            Objects.requireNonNull(this.getClass().getClassLoader().getResourceAsStream(runContext.render(this.templateUri).as(String.class).orElse(null))),
-            StandardCharsets.UTF_8
-        );
+    protected String route(RunContext runContext) throws Exception {
+        return ISSUE_API_ROUTE + runContext.render(this.issueIdOrKey) + COMMENT_API_ROUTE;
+    }
 
-        String render = runContext.render(template, Map.of("body", runContext.render(body)));
+    @Override
+    protected String renderPayload(RunContext runContext) throws Exception {
+        String rTemplateUri = this.renderTemplateUri(runContext).orElseThrow();
+        String rBody = runContext.render(body);
 
-        Map<String, Object> mainMap = (Map<String, Object>) JacksonMapper.ofJson().readValue(render, Object.class);
+        return this.timed(runContext, () -> PayloadTemplates.render(runContext, rTemplateUri, Map.of("body", PayloadTemplates.jsonString(rBody))));
+    }
 
-        this.payload = Property.ofValue(JacksonMapper.ofJson().writeValueAsString(mainMap));
-        return super.run(runContext);
+    @Override
+    protected String defaultTemplateUri() {
+        return "comment-jira-template.peb";
     }
 }
@@ -0,0 +1,223 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+import static io.kestra.plugin.jira.issues.JiraUtil.COMMENT_API_ROUTE;
+import static io.kestra.plugin.jira.issues.JiraUtil.ISSUE_API_ROUTE;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Add many comments to Jira issues",
+    description = "Reads `issueIdOrKey` / `body` pairs from a list or an internal storage file (ION/JSONL) and posts each comment to `/rest/api/2/issue/{issueIdOrKey}/comment`, " +
+        "rendering them with the `comment-jira-template.peb` template loaded once and sending up to `concurrency` requests at the same time, each on its own virtual thread, over one HTTP client. " +
+        "Outputs an ION file with the created comment or the error for every row, in input order."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Comment on every issue listed in an internal storage file with `issueIdOrKey` and `body` columns.",
+            full = true,
+            code = """
+                id: jira_outage_comments_file
+                namespace: company.team
+
+                inputs:
+                  - id: comments
+                    type: FILE
+
+                tasks:
+                  - id: comment
+                    type: io.kestra.plugin.jira.issues.CreateComments
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    from: "{{ inputs.comments }}"
+                """
+        ),
+        @Example(
+            title = "Comment on a few issues impacted by an outage.",
+            full = true,
+            code = """
+                id: jira_outage_comments
+                namespace: company.team
+
+                tasks:
+                  - id: comment
+                    type: io.kestra.plugin.jira.issues.CreateComments
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    from:
+                      - issueIdOrKey: "PROJ-1"
+                        body: "The outage is now resolved."
+                      - issueIdOrKey: "PROJ-2"
+                        body: "The outage is now resolved."
+                    concurrency: 16
+                """
+        )
+    }
+)
+public class CreateComments extends JiraClient implements RunnableTask<CreateComments.Output> {
+    private static final String TEMPLATE_URI = "comment-jira-template.peb";
+
+    private static final String COMMENT_ROUTE = ISSUE_API_ROUTE + "{issueIdOrKey}" + COMMENT_API_ROUTE;
+
+    @Schema(
+        title = "Comments to add",
+        description = "Either a list of `issueIdOrKey` / `body` maps (rendered) or the internal storage URI of an ION/JSONL file holding one such map per row.",
+        anyOf = {String.class, List.class}
+    )
+    @PluginProperty(dynamic = true, group = "main")
+    @NotNull
+    private Object from;
+
+    @Schema(
+        title = "Maximum number of comments sent at the same time"
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(8);
+
+    @Schema(
+        title = "Stop at the first comment that cannot be added",
+        description = "By default every comment is attempted and failures are reported in the result file; when enabled, the task fails on the first failure and the comments still in flight are cancelled."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Boolean> failFast = Property.ofValue(false);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rBaseUrl = runContext.render(this.baseUrl);
+        int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(8);
+        boolean rFailFast = runContext.render(this.failFast).as(Boolean.class).orElse(false);
+        String template = PayloadTemplates.load(runContext, TEMPLATE_URI);
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        AtomicLong renderDuration = new AtomicLong();
+        JiraBatch.Summary summary;
+
+        try (
+            JiraHttpClient client = this.httpClient(runContext);
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE);
+            Stream<Map<String, Object>> rows = JiraUtil.readRows(runContext, this.from).toStream()
+        ) {
+            summary = JiraBatch.run(
+                rows::iterator,
+                rConcurrency,
+                rFailFast,
+                row -> this.comment(runContext, client, rBaseUrl, template, row, renderDuration),
+                result -> FileSerde.write(output, result(result))
+            );
+        }
+
+        runContext.metric(Timer.of("render.duration", Duration.ofNanos(renderDuration.get()), "route", COMMENT_ROUTE));
+        runContext.metric(Counter.of("succeeded", summary.succeeded()));
+        runContext.metric(Counter.of("failed", summary.failed()));
+
+        if (summary.failed() > 0) {
+            runContext.logger().warn("{} comment(s) could not be added, see the result file for details", summary.failed());
+        }
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .succeeded(summary.succeeded())
+            .failed(summary.failed())
+            .build();
+    }
+
+    private Map<String, String> comment(
+        RunContext runContext,
+        JiraHttpClient client,
+        String baseUrl,
+        String template,
+        Map<String, Object> row,
+        AtomicLong renderDuration
+    ) throws Exception {
+        if (row.get("issueIdOrKey") == null || row.get("body") == null) {
+            throw new IllegalArgumentException("Each row must define 'issueIdOrKey' and 'body'");
+        }
+
+        // the template places the body inside a JSON string
+        long renderStart = System.nanoTime();
+        String payload = runContext.render(template, Map.of("body", PayloadTemplates.jsonString(String.valueOf(row.get("body")))));
+        renderDuration.addAndGet(System.nanoTime() - renderStart);
+
+        HttpRequest request = this.authorizedRequest(runContext, "POST", URI.create(baseUrl + ISSUE_API_ROUTE + row.get("issueIdOrKey") + COMMENT_API_ROUTE))
+            .body(HttpRequest.StringRequestBody.builder().content(payload).build())
+            .build();
+
+        Map<String, String> fields = new HashMap<>();
+        client.request(request, throwConsumer(response -> fields.putAll(JiraUtil.readFields(response.getBody(), RESPONSE_FIELDS))));
+
+        return fields;
+    }
+
+    private static Map<String, Object> result(JiraBatch.Result<Map<String, Object>, Map<String, String>> result) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("row", result.index());
+        row.put("issueIdOrKey", result.item().get("issueIdOrKey"));
+
+        if (result.error() instanceof HttpClientResponseException e) {
+            row.put("status", e.getResponse() == null ? null : e.getResponse().getStatus().getCode());
+            row.put("error", e.getMessage());
+        } else if (result.failed()) {
+            row.put("error", String.valueOf(result.error().getMessage()));
+        } else {
+            row.put("id", result.output().get("id"));
+            row.put("self", result.output().get("self"));
+        }
+
+        return row;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of the result file",
+            description = "ION file with one row per input comment, in input order: `row`, `issueIdOrKey`, then either `id` and `self` of the created comment or the `error`."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of comments added")
+        private final Long succeeded;
+
+        @Schema(title = "Number of comments that could not be added")
+        private final Long failed;
+    }
+}
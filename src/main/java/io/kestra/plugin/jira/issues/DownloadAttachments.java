@@ -0,0 +1,321 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+import static io.kestra.plugin.jira.issues.JiraUtil.ATTACHMENT_CONTENT_API_ROUTE;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Download the attachments of Jira issues to internal storage",
+    description = "Lists the attachments of the issues given by `issueIdOrKeys` or selected by `jql`, then streams every file from `/rest/api/2/attachment/content/{id}` straight to internal storage, " +
+        "up to `concurrency` files at the same time. Attachments already downloaded by a previous run (same id and size, file still in internal storage) are not downloaded again: " +
+        "their location is remembered in the flow namespace KV store. Outputs an ION manifest with one row per attachment so that downstream tasks can process them in bulk."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Download the attachments of the incidents updated today.",
+            full = true,
+            code = """
+                id: jira_download_attachments
+                namespace: company.team
+
+                tasks:
+                  - id: download
+                    type: io.kestra.plugin.jira.issues.DownloadAttachments
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    jql: "project = INC AND updated >= startOfDay()"
+                    concurrency: 8
+
+                  - id: process
+                    type: io.kestra.plugin.core.flow.ForEachItem
+                    items: "{{ outputs.download.uri }}"
+                    batch:
+                      rows: 100
+                    namespace: company.team
+                    flowId: process_attachments
+                    inputs:
+                      manifest: "{{ taskrun.items }}"
+                """
+        ),
+        @Example(
+            title = "Download the attachments of a few issues.",
+            full = true,
+            code = """
+                id: jira_download_issue_attachments
+                namespace: company.team
+
+                tasks:
+                  - id: download
+                    type: io.kestra.plugin.jira.issues.DownloadAttachments
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    issueIdOrKeys:
+                      - INC-1
+                      - INC-2
+                """
+        )
+    }
+)
+public class DownloadAttachments extends JiraClient implements RunnableTask<DownloadAttachments.Output> {
+    private static final String ATTACHMENT_KV_PREFIX = "jira-attachment-";
+
+    private static final int KEYS_PER_QUERY = 100;
+
+    @Schema(
+        title = "Issue keys or ids whose attachments are downloaded",
+        description = "Either this or `jql` is required."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> issueIdOrKeys;
+
+    @Schema(
+        title = "JQL selecting the issues whose attachments are downloaded",
+        description = "Either this or `issueIdOrKeys` is required."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> jql;
+
+    @Schema(
+        title = "Maximum number of files downloaded at the same time"
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(
+        title = "Skip attachments already downloaded",
+        description = "When enabled, an attachment with the same id and size as one downloaded by a previous run, and whose file is still in internal storage, is listed in the manifest with its previous URI and `skipped: true`."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Boolean> skipExisting = Property.ofValue(true);
+
+    @Schema(
+        title = "How long a downloaded attachment is remembered for `skipExisting`",
+        description = "Downloads are recorded in the flow namespace KV store; an attachment downloaded longer ago is downloaded again."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Duration> skipExistingTtl = Property.ofValue(Duration.ofDays(30));
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rBaseUrl = runContext.render(this.baseUrl);
+        int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+        boolean rSkipExisting = runContext.render(this.skipExisting).as(Boolean.class).orElse(true);
+        Duration rSkipExistingTtl = runContext.render(this.skipExistingTtl).as(Duration.class).orElse(Duration.ofDays(30));
+
+        List<Map<String, Object>> attachments = new ArrayList<>();
+        for (String query : this.queries(runContext)) {
+            this.search(query).fetch(runContext, null, issue -> attachments.addAll(attachments(issue)));
+        }
+        runContext.logger().info("Found {} attachment(s) to download", attachments.size());
+
+        KVStore kvStore = runContext.namespaceKv(runContext.flowInfo().namespace());
+        File manifest = runContext.workingDir().createTempFile(".ion").toFile();
+        AtomicLong downloaded = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        long start = System.nanoTime();
+
+        try (
+            JiraHttpClient client = this.httpClient(runContext);
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(manifest), FileSerde.BUFFER_SIZE)
+        ) {
+            JiraBatch.run(
+                attachments,
+                rConcurrency,
+                true,
+                attachment -> this.download(runContext, client, kvStore, rBaseUrl, rSkipExisting, rSkipExistingTtl, attachment),
+                result -> {
+                    Map<String, Object> row = result.output();
+                    if (Boolean.TRUE.equals(row.get("skipped"))) {
+                        skipped.incrementAndGet();
+                    } else {
+                        downloaded.incrementAndGet();
+                        bytes.addAndGet(((Number) row.get("size")).longValue());
+                    }
+                    FileSerde.write(output, row);
+                }
+            );
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        runContext.metric(Counter.of("downloaded", downloaded.get()));
+        runContext.metric(Counter.of("skipped", skipped.get()));
+        runContext.metric(Counter.of("download.bytes", bytes.get()));
+        runContext.metric(Timer.of("download.duration", duration));
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(manifest))
+            .downloaded(downloaded.get())
+            .skipped(skipped.get())
+            .size(bytes.get())
+            .build();
+    }
+
+    private List<String> queries(RunContext runContext) throws Exception {
+        var rJql = runContext.render(this.jql).as(String.class);
+        if (rJql.isPresent()) {
+            return List.of(rJql.get());
+        }
+
+        List<String> rIssueIdOrKeys = runContext.render(this.issueIdOrKeys).asList(String.class);
+        if (rIssueIdOrKeys.isEmpty()) {
+            throw new IllegalArgumentException("Either 'jql' or 'issueIdOrKeys' must be set");
+        }
+
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < rIssueIdOrKeys.size(); i += KEYS_PER_QUERY) {
+            queries.add(rIssueIdOrKeys.subList(i, Math.min(i + KEYS_PER_QUERY, rIssueIdOrKeys.size())).stream()
+                .map(key -> "\"" + key.replace("\"", "") + "\"")
+                .collect(Collectors.joining(", ", "issue in (", ")")));
+        }
+
+        return queries;
+    }
+
+    private Search search(String jql) {
+        return Search.of(this)
+            .jql(Property.ofValue(jql))
+            .fields(Property.ofValue(List.of("attachment")))
+            .build();
+    }
+
+    static List<Map<String, Object>> attachments(Map<String, Object> issue) {
+        List<Map<String, Object>> attachments = new ArrayList<>();
+
+        if (issue.get("fields") instanceof Map<?, ?> fields && fields.get("attachment") instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> attachment && attachment.get("id") != null) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("issueKey", issue.get("key"));
+                    row.put("id", String.valueOf(attachment.get("id")));
+                    row.put("filename", attachment.get("filename"));
+                    row.put("mimeType", attachment.get("mimeType"));
+                    row.put("size", attachment.get("size") instanceof Number size ? size.longValue() : 0L);
+                    row.put("created", attachment.get("created"));
+                    attachments.add(row);
+                }
+            }
+        }
+
+        return attachments;
+    }
+
+    private Map<String, Object> download(
+        RunContext runContext,
+        JiraHttpClient client,
+        KVStore kvStore,
+        String baseUrl,
+        boolean skipExisting,
+        Duration skipExistingTtl,
+        Map<String, Object> attachment
+    ) throws Exception {
+        String id = (String) attachment.get("id");
+        long size = (Long) attachment.get("size");
+        String kvKey = ATTACHMENT_KV_PREFIX + JiraUtil.sha256(baseUrl + "|" + id);
+
+        Map<String, Object> row = new LinkedHashMap<>(attachment);
+
+        if (skipExisting) {
+            Optional<KVValue> stored = kvStore.getValue(kvKey);
+            if (stored.isPresent() && stored.get().value() instanceof Map<?, ?> previous
+                && previous.get("size") instanceof Number previousSize && previousSize.longValue() == size
+                && previous.get("uri") != null) {
+                URI previousUri = URI.create(String.valueOf(previous.get("uri")));
+                if (runContext.storage().isFileExist(previousUri)) {
+                    row.put("uri", previousUri.toString());
+                    row.put("skipped", true);
+                    return row;
+                }
+            }
+        }
+
+        HttpRequest request = this.authorizedRequest(runContext, "GET", URI.create(baseUrl + ATTACHMENT_CONTENT_API_ROUTE + id)).build();
+
+        AtomicReference<URI> uri = new AtomicReference<>();
+        String filename = String.valueOf(attachment.getOrDefault("filename", id));
+        client.request(request, throwConsumer(response -> uri.set(runContext.storage().putFile(response.getBody(), fileName(id, filename)))));
+        runContext.logger().debug("Downloaded attachment '{}' of '{}'", filename, attachment.get("issueKey"));
+
+        kvStore.put(kvKey, new KVValueAndMetadata(
+            new KVMetadata("Jira attachment " + id + " downloaded by " + this.getId(), skipExistingTtl),
+            Map.of("size", size, "uri", uri.get().toString())
+        ));
+
+        row.put("uri", uri.get().toString());
+        row.put("skipped", false);
+
+        return row;
+    }
+
+    /**
+     * The internal storage file name of an attachment: its id followed by the last segment of its Jira file name,
+     * restricted to characters that are safe in a path.
+     */
+    static String fileName(String id, String filename) {
+        String name = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1)
+            .replaceAll("[^A-Za-z0-9._-]", "_")
+            .replaceAll("^\\.+", "_");
+
+        return id + "-" + (name.isEmpty() ? "attachment" : name);
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of the manifest",
+            description = "ION file with one row per attachment: `issueKey`, `id`, `filename`, `mimeType`, `size`, `created`, the internal storage `uri` of the file and whether it was `skipped`."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of attachments downloaded")
+        private final Long downloaded;
+
+        @Schema(title = "Number of attachments skipped because they were already downloaded")
+        private final Long skipped;
+
+        @Schema(title = "Number of bytes downloaded")
+        private final Long size;
+    }
+}
@@ -0,0 +1,373 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.Rethrow;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Export Jira issues as flat rows for analytics",
+    description = "Runs a JQL query, asks Jira only for the fields used by `columns`, and writes one flat row per issue to internal storage as ION or CSV. " +
+        "Issues are written page by page as they are parsed, so memory use does not depend on the number of issues exported. " +
+        "To get Parquet or Avro, convert the ION output with the `io.kestra.plugin.serdes` tasks."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Export last week's issues of a project to CSV.",
+            full = true,
+            code = """
+                id: jira_export
+                namespace: company.team
+
+                triggers:
+                  - id: weekly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 6 * * MON"
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.jira.issues.Export
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    jql: "project = PROJ AND updated >= -7d ORDER BY key"
+                    columns:
+                      - key
+                      - summary
+                      - status
+                      - assignee.displayName
+                      - Sprint.name
+                      - Story Points
+                    format: CSV
+                """
+        ),
+        @Example(
+            title = "Export issues to Parquet through the serdes plugin.",
+            full = true,
+            code = """
+                id: jira_export_parquet
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.jira.issues.Export
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    jql: "project = PROJ ORDER BY key"
+                    columns:
+                      - key
+                      - issuetype
+                      - created
+                      - resolutiondate
+                      - labels
+
+                  - id: parquet
+                    type: io.kestra.plugin.serdes.parquet.IonToParquet
+                    from: "{{ outputs.export.uri }}"
+                """
+        )
+    }
+)
+public class Export extends JiraClient implements RunnableTask<Export.Output> {
+    private static final Set<String> ISSUE_ATTRIBUTES = Set.of("id", "key", "self");
+
+    // attributes readable on an object given without a path, in order of preference
+    private static final List<String> DISPLAY_ATTRIBUTES = List.of("displayName", "name", "value", "key", "id");
+
+    // Jira Server returns sprints as `com.atlassian.greenhopper.service.sprint.Sprint@1f[id=1,state=ACTIVE,name=Sprint 1,...]`
+    private static final Pattern TO_STRING_OBJECT = Pattern.compile("^[\\w.$]+@\\w+\\[(.*)]$");
+
+    @Schema(
+        title = "JQL query",
+        description = "Rendered JQL selecting the issues to export; add an `ORDER BY` clause for a stable order."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    private Property<String> jql;
+
+    @Schema(
+        title = "Columns to export",
+        description = "One column per entry, named after it. An entry is `id`, `key`, `self` or a field id or display name, optionally followed by a dotted path inside the field value, e.g. `assignee.displayName`, `Sprint.name` or `customfield_10016`. " +
+            "A field given without a path is exported as its display name, name or value (e.g. `status` gives `Done`). " +
+            "Multi-valued fields give a list in ION and a comma-separated value in CSV."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    private Property<List<String>> columns;
+
+    @Schema(
+        title = "Output format"
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    @Builder.Default
+    private Property<Format> format = Property.ofValue(Format.ION);
+
+    @Schema(
+        title = "Maximum number of issues to export",
+        description = "No limit when not set."
+    )
+    @PluginProperty(group = "main")
+    @Min(1)
+    private Property<Integer> maxResults;
+
+    @Schema(
+        title = "Number of issues requested per page"
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Max(5000)
+    @Builder.Default
+    private Property<Integer> pageSize = Property.ofValue(100);
+
+    @Schema(
+        title = "Pagination mode",
+        description = "See the `Search` task."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Search.Pagination> pagination = Property.ofValue(Search.Pagination.TOKEN);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        List<String> rColumns = runContext.render(this.columns).asList(String.class);
+        if (rColumns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column must be set");
+        }
+        Format rFormat = runContext.render(this.format).as(Format.class).orElse(Format.ION);
+
+        List<Column> parsed = this.columns(runContext, rColumns);
+        List<String> fieldIds = parsed.stream().map(Column::fieldId).filter(Objects::nonNull).distinct().toList();
+
+        File tempFile = runContext.workingDir().createTempFile("." + rFormat.name().toLowerCase(Locale.ROOT)).toFile();
+        long size;
+
+        try (
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE);
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)
+        ) {
+            Rethrow.ConsumerChecked<Map<String, Object>, Exception> sink;
+
+            if (rFormat == Format.CSV) {
+                writeCsvLine(writer, rColumns);
+                sink = issue -> writeCsvLine(writer, parsed.stream().map(column -> csvValue(column.value(issue))).toList());
+            } else {
+                sink = issue -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    parsed.forEach(column -> row.put(column.name(), column.value(issue)));
+                    FileSerde.write(output, row);
+                };
+            }
+
+            size = this.search(fieldIds.isEmpty() ? List.of("key") : fieldIds).fetch(runContext, null, sink);
+        }
+
+        runContext.metric(Counter.of("records", size));
+        runContext.logger().info("Exported {} issue(s) with {} column(s)", size, parsed.size());
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .size(size)
+            .build();
+    }
+
+    private List<Column> columns(RunContext runContext, List<String> columns) throws Exception {
+        List<String> names = columns.stream()
+            .map(column -> column.split("\\.", 2)[0])
+            .filter(name -> !ISSUE_ATTRIBUTES.contains(name))
+            .toList();
+
+        Map<String, JiraMetadata.Field> metadata = Map.of();
+        if (!JiraMetadata.allFieldIds(names)) {
+            try (JiraHttpClient client = this.httpClient(runContext)) {
+                metadata = this.fieldMetadata(runContext, client);
+            }
+        }
+
+        List<Column> parsed = new ArrayList<>();
+        for (String column : columns) {
+            parsed.add(Column.of(column, metadata));
+        }
+
+        return parsed;
+    }
+
+    private Search search(List<String> fields) {
+        return Search.of(this)
+            .jql(this.jql)
+            .fields(Property.ofValue(fields))
+            .maxResults(this.maxResults)
+            .pageSize(this.pageSize)
+            .pagination(this.pagination)
+            .build();
+    }
+
+    /**
+     * One exported column: an issue {@code attribute} or a field, and the path followed inside its value.
+     */
+    record Column(String name, String attribute, String fieldId, List<String> path) {
+        static Column of(String column, Map<String, JiraMetadata.Field> metadata) {
+            String[] parts = column.split("\\.", 2);
+            List<String> path = parts.length > 1 ? List.of(parts[1].split("\\.")) : List.of();
+
+            if (ISSUE_ATTRIBUTES.contains(parts[0])) {
+                return new Column(column, parts[0], null, path);
+            }
+
+            String fieldId = JiraMetadata.allFieldIds(List.of(parts[0])) ? parts[0] : JiraMetadata.fieldId(metadata, parts[0]);
+
+            return new Column(column, null, fieldId, path);
+        }
+
+        Object value(Map<String, Object> issue) {
+            Object value;
+            if (this.attribute != null) {
+                value = issue.get(this.attribute);
+            } else {
+                value = issue.get("fields") instanceof Map<?, ?> fields ? fields.get(this.fieldId) : null;
+            }
+
+            for (String segment : this.path) {
+                value = get(value, segment);
+            }
+
+            return flatten(value);
+        }
+
+        private static Object get(Object value, String segment) {
+            if (value instanceof Map<?, ?> map) {
+                return map.get(segment);
+            }
+
+            if (value instanceof List<?> list) {
+                List<Object> values = new ArrayList<>();
+                for (Object item : list) {
+                    Object child = get(item, segment);
+                    if (child instanceof List<?> children) {
+                        values.addAll(children);
+                    } else if (child != null) {
+                        values.add(child);
+                    }
+                }
+                return values;
+            }
+
+            if (value instanceof String string) {
+                Matcher matcher = TO_STRING_OBJECT.matcher(string);
+                if (matcher.matches()) {
+                    for (String attribute : matcher.group(1).split(",")) {
+                        int equals = attribute.indexOf('=');
+                        if (equals > 0 && attribute.substring(0, equals).equals(segment)) {
+                            String result = attribute.substring(equals + 1);
+                            return result.equals("<null>") ? null : result;
+                        }
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        private static Object flatten(Object value) {
+            if (value instanceof Map<?, ?> map) {
+                for (String attribute : DISPLAY_ATTRIBUTES) {
+                    if (map.get(attribute) != null && !(map.get(attribute) instanceof Map<?, ?>)) {
+                        return map.get(attribute);
+                    }
+                }
+                return map;
+            }
+
+            if (value instanceof List<?> list) {
+                return list.stream().map(Column::flatten).toList();
+            }
+
+            return value;
+        }
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value instanceof List<?> list) {
+            return list.stream().map(Export::csvValue).collect(Collectors.joining(", "));
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            return JacksonMapper.ofJson().valueToTree(map).toString();
+        }
+
+        return String.valueOf(value);
+    }
+
+    static void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            String value = values.get(i);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    public enum Format {
+        ION,
+        CSV
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of the exported file",
+            description = "ION or CSV file with one row per issue and one column per entry of `columns`, in the order of the search results."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of issues exported")
+        private final Long size;
+    }
+}
@@ -0,0 +1,503 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Fetch the hierarchy and links of Jira issues as a graph",
+    description = "Starts from `issueKeys` and walks parents, children, subtasks and issue links breadth-first up to `maxDepth`. " +
+        "Every level is fetched with a few `issue in (...)` and `parent in (...)` JQL searches of up to 100 keys, sent up to `concurrency` at a time, and every issue is fetched once even when it is reached from several others, " +
+        "so the number of round trips depends on the depth of the tree rather than on its size. Outputs an ION file with one `NODE` row per issue and one `EDGE` row per relation."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Fetch the whole tree of an epic, with the issues linked to it, for a release report.",
+            full = true,
+            code = """
+                id: jira_epic_tree
+                namespace: company.team
+
+                inputs:
+                  - id: epic
+                    type: STRING
+
+                tasks:
+                  - id: tree
+                    type: io.kestra.plugin.jira.issues.FetchHierarchy
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    issueKeys:
+                      - "{{ inputs.epic }}"
+                    maxDepth: 3
+                    fields:
+                      - summary
+                      - status
+                      - fixVersions
+                """
+        ),
+        @Example(
+            title = "Follow only the blocking links of a few issues.",
+            full = true,
+            code = """
+                id: jira_blockers
+                namespace: company.team
+
+                tasks:
+                  - id: blockers
+                    type: io.kestra.plugin.jira.issues.FetchHierarchy
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    issueKeys:
+                      - PROJ-1
+                      - PROJ-2
+                    relations:
+                      - LINKS
+                    linkTypes:
+                      - Blocks
+                """
+        )
+    }
+)
+public class FetchHierarchy extends JiraClient implements RunnableTask<FetchHierarchy.Output> {
+    private static final int KEYS_PER_QUERY = 100;
+
+    // fields always requested, to find the neighbours of an issue
+    private static final List<String> RELATION_FIELDS = List.of("issuetype", "parent", "subtasks", "issuelinks");
+
+    @Schema(
+        title = "Keys of the issues the walk starts from"
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    private Property<List<String>> issueKeys;
+
+    @Schema(
+        title = "Relations followed",
+        description = "`PARENT` goes up to the parent issue or epic, `CHILDREN` down to the issues whose parent is the issue (including the issues of an epic), " +
+            "`SUBTASKS` down to the subtasks, and `LINKS` along issue links in both directions."
+    )
+    @PluginProperty(group = "main")
+    @Builder.Default
+    private Property<List<Relation>> relations = Property.ofValue(List.of(Relation.PARENT, Relation.CHILDREN, Relation.SUBTASKS, Relation.LINKS));
+
+    @Schema(
+        title = "Issue link types followed",
+        description = "Names of the link types to follow, e.g. `Blocks` or `Relates`; all link types are followed when not set."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> linkTypes;
+
+    @Schema(
+        title = "Maximum distance from the starting issues",
+        description = "Issues further away are not fetched, and the relations leading to them are not reported."
+    )
+    @PluginProperty(group = "main")
+    @Min(0)
+    @Builder.Default
+    private Property<Integer> maxDepth = Property.ofValue(3);
+
+    @Schema(
+        title = "Fields included in every node",
+        description = "Field ids copied into the `fields` of the `NODE` rows."
+    )
+    @PluginProperty(group = "main")
+    @Builder.Default
+    private Property<List<String>> fields = Property.ofValue(List.of("summary", "status", "issuetype"));
+
+    @Schema(
+        title = "Maximum number of issues fetched",
+        description = "The walk stops after the level where this number is reached, so that a densely linked project does not pull the whole instance."
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> maxNodes = Property.ofValue(5000);
+
+    @Schema(
+        title = "Maximum number of searches sent at the same time"
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(
+        title = "Pagination mode",
+        description = "See the `Search` task."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Search.Pagination> pagination = Property.ofValue(Search.Pagination.TOKEN);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        List<String> rIssueKeys = runContext.render(this.issueKeys).asList(String.class);
+        if (rIssueKeys.isEmpty()) {
+            throw new IllegalArgumentException("At least one issue key must be set");
+        }
+        Set<Relation> rRelations = EnumSet.noneOf(Relation.class);
+        rRelations.addAll(runContext.render(this.relations).asList(Relation.class));
+        Set<String> rLinkTypes = runContext.render(this.linkTypes).asList(String.class).stream()
+            .map(type -> type.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+        int rMaxDepth = runContext.render(this.maxDepth).as(Integer.class).orElse(3);
+        int rMaxNodes = runContext.render(this.maxNodes).as(Integer.class).orElse(5000);
+        int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+
+        List<String> rFields = runContext.render(this.fields).asList(String.class);
+        List<String> searchFields = new ArrayList<>(rFields);
+        RELATION_FIELDS.stream().filter(field -> !searchFields.contains(field)).forEach(searchFields::add);
+
+        Graph graph = new Graph(rRelations, rLinkTypes);
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        int depth = 0;
+        long searches = 0;
+
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+            Set<String> frontier = new LinkedHashSet<>(rIssueKeys);
+            // issues of the next level already returned by the `parent in (...)` searches of the current one
+            Map<String, Map<String, Object>> prefetched = new HashMap<>();
+
+            while (!frontier.isEmpty()) {
+                List<String> missing = frontier.stream().filter(key -> !prefetched.containsKey(key)).toList();
+                List<Query> queries = new ArrayList<>(Query.of("issue", missing));
+                if (depth < rMaxDepth && rRelations.contains(Relation.CHILDREN)) {
+                    queries.addAll(Query.of("parent", frontier));
+                }
+                searches += queries.size();
+
+                Map<String, Map<String, Object>> fetched = new LinkedHashMap<>();
+                frontier.forEach(key -> {
+                    if (prefetched.containsKey(key)) {
+                        fetched.put(key, prefetched.get(key));
+                    }
+                });
+                prefetched.clear();
+
+                final Set<String> level = frontier;
+                JiraBatch.run(
+                    queries,
+                    rConcurrency,
+                    true,
+                    query -> this.fetch(runContext, query, searchFields),
+                    result -> result.output().forEach(issue -> {
+                        String key = String.valueOf(issue.get("key"));
+                        if (level.contains(key)) {
+                            fetched.put(key, issue);
+                        } else if (!subtask(issue) || rRelations.contains(Relation.SUBTASKS)) {
+                            prefetched.putIfAbsent(key, issue);
+                        }
+                    })
+                );
+
+                Set<String> next = new LinkedHashSet<>();
+                for (String key : frontier) {
+                    Map<String, Object> issue = fetched.get(key);
+                    if (issue == null) {
+                        runContext.logger().warn("Jira issue '{}' was not found or is not visible, it is left out of the hierarchy", key);
+                        continue;
+                    }
+
+                    FileSerde.write(output, node(issue, depth, rFields));
+                    next.addAll(graph.visit(issue));
+                }
+
+                // the children of this level, already fetched
+                next.addAll(prefetched.keySet());
+                next.removeIf(graph::visited);
+
+                depth++;
+                if (depth > rMaxDepth) {
+                    break;
+                }
+                if (graph.size() >= rMaxNodes) {
+                    if (!next.isEmpty()) {
+                        runContext.logger().warn("Stopped the walk at depth {} after reaching {} issues", depth - 1, graph.size());
+                    }
+                    break;
+                }
+
+                frontier = next;
+            }
+
+            for (Edge edge : graph.edges()) {
+                FileSerde.write(output, edge.toMap());
+            }
+        }
+
+        runContext.metric(Counter.of("nodes", graph.size()));
+        runContext.metric(Counter.of("edges", graph.edges().size()));
+        runContext.metric(Counter.of("searches", searches));
+        runContext.logger().info("Fetched {} issue(s) and {} relation(s) in {} level(s) with {} search(es)", graph.size(), graph.edges().size(), depth, searches);
+
+        return Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .nodes((long) graph.size())
+            .edges((long) graph.edges().size())
+            .depth(depth - 1)
+            .build();
+    }
+
+    private Search search(String jql, List<String> fields) {
+        return Search.of(this)
+            .jql(Property.ofValue(jql))
+            .fields(Property.ofValue(fields))
+            .pagination(this.pagination)
+            .build();
+    }
+
+    /**
+     * Runs the search of a query, searching again without the keys Jira rejects: with strict JQL validation, a single
+     * deleted or invisible key fails the whole {@code issue in (...)} search with a 400 naming that key.
+     */
+    private List<Map<String, Object>> fetch(RunContext runContext, Query query, List<String> fields) throws Exception {
+        List<String> keys = new ArrayList<>(query.keys());
+
+        while (!keys.isEmpty()) {
+            List<Map<String, Object>> issues = new ArrayList<>();
+            try {
+                this.search(query.jql(keys), fields).fetch(runContext, null, issues::add);
+                return issues;
+            } catch (HttpClientResponseException e) {
+                List<String> rejected = e.getResponse() == null || e.getResponse().getStatus().getCode() != 400
+                    ? List.of()
+                    : rejectedKeys(e.getResponse().getBody(), keys);
+                if (rejected.isEmpty()) {
+                    throw e;
+                }
+
+                runContext.logger().debug("Jira rejected {} in the '{}' search, searching again without them", rejected, query.clause());
+                keys.removeAll(rejected);
+            }
+        }
+
+        return List.of();
+    }
+
+    /**
+     * The keys named between quotes in the error messages of a search response.
+     */
+    static List<String> rejectedKeys(Object body, List<String> keys) {
+        if (body == null) {
+            return List.of();
+        }
+
+        String text = body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString();
+
+        return keys.stream().filter(key -> text.contains("'" + key + "'")).toList();
+    }
+
+    static List<String> queries(String clause, Collection<String> keys) {
+        return Query.of(clause, keys).stream().map(query -> query.jql(query.keys())).toList();
+    }
+
+    /**
+     * A {@code <clause> in (...)} search on up to {@link #KEYS_PER_QUERY} keys.
+     */
+    record Query(String clause, List<String> keys) {
+        static List<Query> of(String clause, Collection<String> keys) {
+            List<String> all = new ArrayList<>(keys);
+            List<Query> queries = new ArrayList<>();
+
+            for (int i = 0; i < all.size(); i += KEYS_PER_QUERY) {
+                queries.add(new Query(clause, all.subList(i, Math.min(i + KEYS_PER_QUERY, all.size()))));
+            }
+
+            return queries;
+        }
+
+        String jql(List<String> keys) {
+            return keys.stream()
+                .map(key -> "\"" + key.replace("\"", "") + "\"")
+                .collect(Collectors.joining(", ", this.clause + " in (", ") ORDER BY key"));
+        }
+    }
+
+    static Map<String, Object> node(Map<String, Object> issue, int depth, List<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (issue.get("fields") instanceof Map<?, ?> issueFields) {
+            fields.forEach(field -> values.put(field, issueFields.get(field)));
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("kind", "NODE");
+        row.put("key", issue.get("key"));
+        row.put("id", issue.get("id") == null ? null : String.valueOf(issue.get("id")));
+        row.put("depth", depth);
+        row.put("fields", values);
+
+        return row;
+    }
+
+    static boolean subtask(Map<String, Object> issue) {
+        return issue.get("fields") instanceof Map<?, ?> fields
+            && fields.get("issuetype") instanceof Map<?, ?> issueType
+            && Boolean.TRUE.equals(issueType.get("subtask"));
+    }
+
+    /**
+     * The issues visited so far and the relations found between them; a relation is reported once even when it is
+     * seen from both of its issues.
+     */
+    static class Graph {
+        private final Set<Relation> relations;
+
+        private final Set<String> linkTypes;
+
+        private final Set<String> visited = new LinkedHashSet<>();
+
+        // relations are only reported once both issues are visited
+        private final Set<Edge> candidates = new LinkedHashSet<>();
+
+        Graph(Set<Relation> relations, Set<String> linkTypes) {
+            this.relations = relations;
+            this.linkTypes = linkTypes;
+        }
+
+        /**
+         * Marks the issue as visited and returns the keys of its neighbours along the followed relations.
+         */
+        Set<String> visit(Map<String, Object> issue) {
+            String key = String.valueOf(issue.get("key"));
+            this.visited.add(key);
+
+            Set<String> neighbours = new LinkedHashSet<>();
+            Map<?, ?> fields = issue.get("fields") instanceof Map<?, ?> map ? map : Map.of();
+
+            if (fields.get("parent") instanceof Map<?, ?> parent && parent.get("key") != null) {
+                String parentKey = String.valueOf(parent.get("key"));
+                // also how the children found with `parent in (...)` are attached to their parent
+                Relation relation = subtask(issue) ? Relation.SUBTASKS : Relation.CHILDREN;
+                if (this.relations.contains(Relation.PARENT) || this.relations.contains(relation)) {
+                    this.candidates.add(new Edge(parentKey, key, relation, null));
+                }
+                if (this.relations.contains(Relation.PARENT)) {
+                    neighbours.add(parentKey);
+                }
+            }
+
+            if (this.relations.contains(Relation.SUBTASKS) && fields.get("subtasks") instanceof List<?> subtasks) {
+                for (Object subtask : subtasks) {
+                    if (subtask instanceof Map<?, ?> map && map.get("key") != null) {
+                        String subtaskKey = String.valueOf(map.get("key"));
+                        this.candidates.add(new Edge(key, subtaskKey, Relation.SUBTASKS, null));
+                        neighbours.add(subtaskKey);
+                    }
+                }
+            }
+
+            if (this.relations.contains(Relation.LINKS) && fields.get("issuelinks") instanceof List<?> links) {
+                for (Object item : links) {
+                    if (!(item instanceof Map<?, ?> link)) {
+                        continue;
+                    }
+
+                    String type = link.get("type") instanceof Map<?, ?> linkType && linkType.get("name") != null ? String.valueOf(linkType.get("name")) : null;
+                    if (!this.linkTypes.isEmpty() && (type == null || !this.linkTypes.contains(type.toLowerCase(Locale.ROOT)))) {
+                        continue;
+                    }
+
+                    // a link is stored on both issues, outward on one side and inward on the other
+                    if (link.get("outwardIssue") instanceof Map<?, ?> outward && outward.get("key") != null) {
+                        String other = String.valueOf(outward.get("key"));
+                        this.candidates.add(new Edge(key, other, Relation.LINKS, type));
+                        neighbours.add(other);
+                    } else if (link.get("inwardIssue") instanceof Map<?, ?> inward && inward.get("key") != null) {
+                        String other = String.valueOf(inward.get("key"));
+                        this.candidates.add(new Edge(other, key, Relation.LINKS, type));
+                        neighbours.add(other);
+                    }
+                }
+            }
+
+            return neighbours;
+        }
+
+        boolean visited(String key) {
+            return this.visited.contains(key);
+        }
+
+        int size() {
+            return this.visited.size();
+        }
+
+        List<Edge> edges() {
+            return this.candidates.stream()
+                .filter(edge -> this.visited.contains(edge.from()) && this.visited.contains(edge.to()))
+                .toList();
+        }
+    }
+
+    /**
+     * A relation between two issues: {@code from} is the parent for {@code CHILDREN} and {@code SUBTASKS}, and the
+     * outward side of the link for {@code LINKS}, e.g. the blocking issue of a {@code Blocks} link.
+     */
+    record Edge(String from, String to, Relation relation, String linkType) {
+        Map<String, Object> toMap() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("kind", "EDGE");
+            row.put("from", this.from);
+            row.put("to", this.to);
+            row.put("relation", this.relation.name());
+            row.put("linkType", this.linkType);
+
+            return row;
+        }
+    }
+
+    public enum Relation {
+        PARENT,
+        CHILDREN,
+        SUBTASKS,
+        LINKS
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of the graph file",
+            description = "ION file with a `NODE` row per issue (`key`, `id`, `depth` from the starting issues and the requested `fields`), level by level, " +
+                "followed by an `EDGE` row per relation between two fetched issues (`from`, `to`, `relation` and the `linkType` of links)."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of issues fetched")
+        private final Long nodes;
+
+        @Schema(title = "Number of relations between the fetched issues")
+        private final Long edges;
+
+        @Schema(title = "Depth of the deepest level fetched")
+        private final Integer depth;
+    }
+}
@@ -0,0 +1,90 @@
+package io.kestra.plugin.jira.issues;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.kestra.core.utils.Rethrow;
+
+/**
+ * Runs one blocking Jira call per item of a batch on virtual threads, so that a single task run can keep many requests
+ * in flight without holding a platform thread for each of them.
+ * <p>
+ * At most {@code concurrency} items are in flight at a time, items are read lazily from the input (a streamed storage
+ * file is never loaded in memory), and results are handed to the sink in input order. A failed item is either reported
+ * to the sink with its error ({@code failFast = false}) or stops the batch, cancelling the items in flight.
+ */
+final class JiraBatch {
+    private JiraBatch() {
+    }
+
+    static <I, O> Summary run(
+        Iterable<I> items,
+        int concurrency,
+        boolean failFast,
+        Rethrow.FunctionChecked<I, O, Exception> action,
+        Rethrow.ConsumerChecked<Result<I, O>, Exception> sink
+    ) throws Exception {
+        Deque<Pending<I, O>> window = new ArrayDeque<>();
+        long[] counts = new long[2];
+        long index = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                for (I item : items) {
+                    if (window.size() >= concurrency) {
+                        complete(window.poll(), failFast, sink, counts);
+                    }
+                    window.add(new Pending<>(index++, item, executor.submit(() -> action.apply(item))));
+                }
+
+                while (!window.isEmpty()) {
+                    complete(window.poll(), failFast, sink, counts);
+                }
+            } catch (Exception e) {
+                window.forEach(pending -> pending.future().cancel(true));
+                throw e;
+            }
+        }
+
+        return new Summary(counts[0], counts[1]);
+    }
+
+    private static <I, O> void complete(
+        Pending<I, O> pending,
+        boolean failFast,
+        Rethrow.ConsumerChecked<Result<I, O>, Exception> sink,
+        long[] counts
+    ) throws Exception {
+        Result<I, O> result;
+        try {
+            result = new Result<>(pending.index(), pending.item(), pending.future().get(), null);
+            counts[0]++;
+        } catch (ExecutionException e) {
+            Exception error = e.getCause() instanceof Exception cause ? cause : e;
+            if (failFast) {
+                throw new IllegalStateException("Item " + pending.index() + " failed: " + error.getMessage(), error);
+            }
+            result = new Result<>(pending.index(), pending.item(), null, error);
+            counts[1]++;
+        }
+
+        sink.accept(result);
+    }
+
+    /**
+     * The outcome of one item: either its {@code output} or the {@code error} it failed with.
+     */
+    record Result<I, O>(long index, I item, O output, Exception error) {
+        boolean failed() {
+            return this.error != null;
+        }
+    }
+
+    record Summary(long succeeded, long failed) {}
+
+    private record Pending<I, O>(long index, I item, Future<O> future) {}
+}
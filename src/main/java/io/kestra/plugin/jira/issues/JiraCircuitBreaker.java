@@ -0,0 +1,232 @@
+package io.kestra.plugin.jira.issues;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Circuit breaker shared by all the Jira tasks of a worker that target the same Jira instance with the same credentials
+ * and breaker settings, so that an outage fails the tasks at once instead of letting each of them wait for its HTTP
+ * timeout. Tasks with other settings get their own breaker, each keeping the settings it was created with; breakers
+ * unused for {@link #BREAKER_TTL} are dropped.
+ * <p>
+ * While {@code CLOSED}, the outcome of every request of the last {@link #WINDOW} is recorded. Once there are at least
+ * {@link #MINIMUM_CALLS} of them, the breaker opens when half of them failed (I/O error, timeout, 502, 503 or 504
+ * response) or when most of them were slower than the slow call duration, measured up to the response headers. While
+ * {@code OPEN}, requests are rejected without being sent. After the open duration, the breaker is {@code HALF_OPEN} and lets {@link #HALF_OPEN_CALLS} trial requests
+ * through: it closes when they all succeed and opens again as soon as one of them fails.
+ */
+final class JiraCircuitBreaker {
+    static final Duration BREAKER_TTL = Duration.ofMinutes(30);
+
+    private static final TtlCache<String, JiraCircuitBreaker> BREAKERS = new TtlCache<>(1024);
+
+    static final Duration WINDOW = Duration.ofMinutes(1);
+
+    static final int MINIMUM_CALLS = 20;
+
+    static final double FAILURE_RATE_THRESHOLD = 0.5;
+
+    static final double SLOW_CALL_RATE_THRESHOLD = 0.8;
+
+    static final int HALF_OPEN_CALLS = 3;
+
+    // keeps the window bounded when a worker sends many requests per second
+    private static final int MAX_OUTCOMES = 1000;
+
+    private final String baseUrl;
+
+    private final Duration openDuration;
+
+    private final Duration slowCallDuration;
+
+    private State state = State.CLOSED;
+
+    private long stateSince = System.nanoTime();
+
+    private String reason;
+
+    private final Deque<Outcome> outcomes = new ArrayDeque<>();
+
+    private int failures;
+
+    private int slowCalls;
+
+    private int trialsInFlight;
+
+    private int trialsSucceeded;
+
+    JiraCircuitBreaker(String baseUrl, Duration openDuration, Duration slowCallDuration) {
+        this.baseUrl = baseUrl;
+        this.openDuration = openDuration;
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    static JiraCircuitBreaker of(String baseUrl, String credential, Duration openDuration, Duration slowCallDuration) {
+        String origin = JiraUtil.origin(baseUrl);
+        String key = JiraUtil.sha256(String.join("\n", origin, credential, openDuration.toString(), slowCallDuration.toString()));
+
+        JiraCircuitBreaker breaker;
+        try {
+            breaker = BREAKERS.get(key, BREAKER_TTL, () -> new JiraCircuitBreaker(origin, openDuration, slowCallDuration));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        // renewed on every use, so that only the breakers of idle instances or rotated credentials expire
+        BREAKERS.put(key, breaker, BREAKER_TTL);
+
+        return breaker;
+    }
+
+    synchronized State state() {
+        return this.state;
+    }
+
+    boolean tryAcquire(Consumer<State> transitions) {
+        return this.tryAcquire(System.nanoTime(), transitions);
+    }
+
+    /**
+     * Whether a request may be sent now.
+     *
+     * @param transitions notified when the breaker changes state because of this call
+     */
+    synchronized boolean tryAcquire(long now, Consumer<State> transitions) {
+        if (this.state == State.OPEN) {
+            if (now - this.stateSince < this.openDuration.toNanos()) {
+                return false;
+            }
+            this.transition(State.HALF_OPEN, now, transitions);
+        }
+
+        if (this.state == State.HALF_OPEN) {
+            // trials that never reported back, e.g. cancelled, must not keep the breaker half-open forever
+            if (now - this.stateSince > this.openDuration.toNanos()) {
+                this.trialsInFlight = 0;
+                this.stateSince = now;
+            }
+
+            if (this.trialsInFlight + this.trialsSucceeded >= HALF_OPEN_CALLS) {
+                return false;
+            }
+            this.trialsInFlight++;
+        }
+
+        return true;
+    }
+
+    void onResult(long duration, Result result, Consumer<State> transitions) {
+        this.onResult(System.nanoTime(), duration, result, transitions);
+    }
+
+    /**
+     * Records the outcome of a request allowed by {@link #tryAcquire}.
+     *
+     * @param duration time spent waiting for Jira, in nanoseconds
+     */
+    synchronized void onResult(long now, long duration, Result result, Consumer<State> transitions) {
+        boolean slow = duration > this.slowCallDuration.toNanos();
+
+        switch (this.state) {
+            case OPEN -> {
+                // a request sent before the breaker opened
+            }
+            case HALF_OPEN -> {
+                this.trialsInFlight = Math.max(0, this.trialsInFlight - 1);
+                if (result == Result.FAILURE || (result == Result.SUCCESS && slow)) {
+                    this.reason = result == Result.FAILURE ? "a trial request failed" : "a trial request was slower than " + this.slowCallDuration;
+                    this.transition(State.OPEN, now, transitions);
+                } else if (result == Result.SUCCESS && ++this.trialsSucceeded >= HALF_OPEN_CALLS) {
+                    this.transition(State.CLOSED, now, transitions);
+                }
+            }
+            case CLOSED -> {
+                if (result == Result.IGNORED) {
+                    return;
+                }
+
+                this.add(new Outcome(now, result == Result.FAILURE, slow));
+                this.evict(now);
+
+                int calls = this.outcomes.size();
+                if (calls < MINIMUM_CALLS) {
+                    return;
+                }
+
+                if (this.failures >= calls * FAILURE_RATE_THRESHOLD) {
+                    this.reason = this.failures + " of the last " + calls + " requests failed";
+                    this.transition(State.OPEN, now, transitions);
+                } else if (this.slowCalls >= calls * SLOW_CALL_RATE_THRESHOLD) {
+                    this.reason = this.slowCalls + " of the last " + calls + " requests took more than " + this.slowCallDuration;
+                    this.transition(State.OPEN, now, transitions);
+                }
+            }
+        }
+    }
+
+    /**
+     * Why requests are rejected, and for how long.
+     */
+    synchronized String rejection() {
+        long remaining = Math.max(0, this.openDuration.toNanos() - (System.nanoTime() - this.stateSince));
+
+        return "Circuit breaker open for " + this.baseUrl + ": " + this.reason + ", so requests are rejected without being sent" +
+            (this.state == State.OPEN ? " for another " + TimeUnit.NANOSECONDS.toSeconds(remaining) + "s" : " until the trial requests succeed") +
+            ". Handle this error in an `errors` branch or with `allowFailure` to run a fallback.";
+    }
+
+    private void transition(State state, long now, Consumer<State> transitions) {
+        this.state = state;
+        this.stateSince = now;
+        this.trialsInFlight = 0;
+        this.trialsSucceeded = 0;
+
+        if (state == State.CLOSED) {
+            this.outcomes.clear();
+            this.failures = 0;
+            this.slowCalls = 0;
+        }
+
+        transitions.accept(state);
+    }
+
+    private void add(Outcome outcome) {
+        if (this.outcomes.size() >= MAX_OUTCOMES) {
+            this.remove(this.outcomes.poll());
+        }
+
+        this.outcomes.add(outcome);
+        this.failures += outcome.failed() ? 1 : 0;
+        this.slowCalls += outcome.slow() ? 1 : 0;
+    }
+
+    private void evict(long now) {
+        while (!this.outcomes.isEmpty() && now - this.outcomes.peek().time() > WINDOW.toNanos()) {
+            this.remove(this.outcomes.poll());
+        }
+    }
+
+    private void remove(Outcome outcome) {
+        this.failures -= outcome.failed() ? 1 : 0;
+        this.slowCalls -= outcome.slow() ? 1 : 0;
+    }
+
+    private record Outcome(long time, boolean failed, boolean slow) {}
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * How a request ended: {@code IGNORED} for outcomes that say nothing about the health of Jira, such as a 429.
+     */
+    enum Result {
+        SUCCESS,
+        FAILURE,
+        IGNORED
+    }
+}
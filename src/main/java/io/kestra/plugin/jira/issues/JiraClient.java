@@ -1,8 +1,17 @@
 package io.kestra.plugin.jira.issues;
 
+import java.io.IOException;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.http.HttpRequest;
@@ -11,29 +20,33 @@ import io.kestra.core.http.client.HttpClient;
 import io.kestra.core.http.client.configurations.HttpConfiguration;
 import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.Task;
-import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+
 @SuperBuilder
 @ToString
 @EqualsAndHashCode
 @Getter
 @NoArgsConstructor
-public abstract class JiraClient extends Task implements RunnableTask<VoidOutput> {
+public abstract class JiraClient extends Task {
+    protected static final Set<String> RESPONSE_FIELDS = Set.of("id", "key", "self");
 
     @Schema(
         title = "Jira REST base URL",
-        description = "Rendered HTTPS root such as `https://your-domain.atlassian.net`; task appends the REST route before sending the POST. Avoid a trailing slash."
+        description = "Rendered HTTPS root such as `https://your-domain.atlassian.net`; task appends the REST route before sending the request. Avoid a trailing slash."
     )
     @PluginProperty(dynamic = true, group = "connection")
     @NotBlank
@@ -64,59 +77,293 @@ public abstract class JiraClient extends Task implements RunnableTask<VoidOutput
     protected Property<String> accessToken;
 
     @Schema(
-        title = "Prepared JSON payload",
-        description = "Rendered body sent as `application/json`; usually built from a template when not explicitly provided."
+        title = "OAuth client id",
+        description = "Lets the task obtain its own access tokens, with `refreshToken` when set and with the client credentials grant otherwise; used only when neither `username`/`password` nor `accessToken` is set. " +
+            "Tokens are cached on the worker per client and scopes, refreshed shortly before they expire, and refreshed once when Jira answers with a 401."
     )
-    @PluginProperty(group = "advanced")
-    protected Property<String> payload;
+    @PluginProperty(group = "connection", secret = true)
+    @ToString.Exclude
+    protected Property<String> clientId;
+
+    @Schema(
+        title = "OAuth client secret"
+    )
+    @PluginProperty(group = "connection", secret = true)
+    @ToString.Exclude
+    protected Property<String> clientSecret;
+
+    @Schema(
+        title = "OAuth refresh token",
+        description = "Used with `clientId` to obtain access tokens with the `refresh_token` grant, e.g. for Atlassian 3LO apps. Rotated refresh tokens returned by the authorization server are used instead of this one; they are kept in the worker memory unless `storeRotatedRefreshToken` is enabled."
+    )
+    @PluginProperty(group = "connection", secret = true)
+    @ToString.Exclude
+    protected Property<String> refreshToken;
+
+    @Schema(
+        title = "Store rotated refresh tokens in the namespace KV store",
+        description = "When enabled, refresh tokens rotated by the authorization server are stored in the flow namespace KV store for 90 days, so that they survive worker restarts and are shared by the workers. " +
+            "They are stored in clear text and can be read by anyone with access to the namespace KV store; use a client with rotating refresh tokens from a single namespace. " +
+            "When disabled, a worker restart falls back to the configured `refreshToken`, which fails once the authorization server invalidated it."
+    )
+    @PluginProperty(group = "connection")
+    @Builder.Default
+    protected Property<Boolean> storeRotatedRefreshToken = Property.ofValue(false);
+
+    @Schema(
+        title = "OAuth token endpoint"
+    )
+    @PluginProperty(group = "connection")
+    @Builder.Default
+    protected Property<String> tokenUrl = Property.ofValue(JiraOAuth.DEFAULT_TOKEN_URL);
+
+    @Schema(
+        title = "OAuth scopes requested with the access token"
+    )
+    @PluginProperty(group = "connection")
+    protected Property<List<String>> scopes;
 
     @Schema(title = "HTTP client configuration")
     HttpConfiguration options;
 
-    public VoidOutput run(RunContext runContext) throws Exception {
+    @Schema(
+        title = "Reuse HTTP connections across task runs",
+        description = "When enabled, the HTTP client is taken from a pool shared by the Jira tasks of the same namespace running on the same worker with the same `baseUrl` host and rendered `options`, keeping TLS connections alive between task runs. " +
+            "Pooled clients are closed after 5 minutes without use; HTTP logs configured in `options` are attached to the task run that created the client."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    protected Property<Boolean> reuseConnections = Property.ofValue(false);
 
-        try (HttpClient client = new HttpClient(runContext, options)) {
+    @Schema(
+        title = "Maximum number of requests per second",
+        description = "Upper bound applied to the requests of this task only. " +
+            "Whatever this value, requests of all Jira tasks of the worker using the same `baseUrl` and credentials are slowed down ahead of time from Jira's `X-RateLimit-Remaining` and `X-RateLimit-Reset` headers, and requests rejected with a 429 are sent again after `Retry-After`."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<Double> rateLimit;
 
-            HttpRequest request = getAuthorizedRequest(runContext);
+    @Schema(
+        title = "Maximum number of retries of a request after a transient failure",
+        description = "A request answered with a 502, 503 or 504, or failing with an I/O error such as a connection reset, is sent again with the same payload after a jittered exponential backoff (or after `Retry-After`). " +
+            "Requests that create something (e.g. a `POST` creating an issue or a comment) are only retried when Jira cannot have processed them: on a 503 or when the connection could not be opened. Set to 0 to disable retries."
+    )
+    @PluginProperty(group = "advanced")
+    @Min(0)
+    @Builder.Default
+    protected Property<Integer> maxRetries = Property.ofValue(3);
 
-            HttpResponse<String> response = client.request(request, String.class);
+    @Schema(
+        title = "Time budget for the retries of a request",
+        description = "No retry is sent once this duration has elapsed since the first attempt of the request, waits included."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    protected Property<Duration> retryBudget = Property.ofValue(Duration.ofSeconds(30));
+
+    @Schema(
+        title = "Fail fast while Jira is down",
+        description = "Enables the circuit breaker shared by the Jira tasks of the worker using this `baseUrl`, the same credentials and the same circuit breaker settings: " +
+            "when half of the requests of the last minute failed (502, 503, 504, I/O error or timeout), or 80% of them took longer than `circuitBreakerSlowCallDuration` to answer, " +
+            "requests are rejected at once for `circuitBreakerOpenDuration`, then a few trial requests decide whether Jira is back."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    protected Property<Boolean> circuitBreaker = Property.ofValue(false);
+
+    @Schema(
+        title = "How long requests are rejected once the circuit breaker opens"
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    protected Property<Duration> circuitBreakerOpenDuration = Property.ofValue(Duration.ofSeconds(30));
+
+    @Schema(
+        title = "Duration above which a request counts as slow for the circuit breaker",
+        description = "Measured up to the response headers, reading the response body is not included."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    protected Property<Duration> circuitBreakerSlowCallDuration = Property.ofValue(Duration.ofSeconds(10));
+
+    @Schema(
+        title = "How long Jira metadata is cached",
+        description = "Fields and issue types used to resolve display names are fetched once per `baseUrl` (and project) and shared by all Jira tasks of the worker for this duration. " +
+            "Users resolved from an email address or display name are cached for the same duration, unknown users for at most 5 minutes."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    protected Property<Duration> metadataTtl = Property.ofValue(Duration.ofHours(1));
+
+    /**
+     * Sends the payload and returns the {@link #RESPONSE_FIELDS} found at the top level of the response, read as a stream.
+     */
+    protected Map<String, String> request(RunContext runContext, String method, String uri, String payload) throws Exception {
+        try (JiraHttpClient client = this.httpClient(runContext)) {
+
+            HttpRequest request = this.authorizedRequest(runContext, method, URI.create(uri))
+                .body(HttpRequest.StringRequestBody.builder().content(payload).build())
+                .build();
+
+            Map<String, String> fields = new HashMap<>();
+            HttpResponse<Void> response = client.request(
+                request,
+                throwConsumer(r -> fields.putAll(JiraUtil.readFields(r.getBody(), RESPONSE_FIELDS)))
+            );
 
             runContext.logger().debug("Response status: {}", response.getStatus());
 
-            return null;
+            return fields;
+        }
+    }
+
+    /**
+     * Sends a GET request and reads the whole JSON response.
+     */
+    protected JsonNode getJson(RunContext runContext, JiraHttpClient client, String uri) throws Exception {
+        HttpRequest request = this.authorizedRequest(runContext, "GET", URI.create(uri)).build();
+
+        AtomicReference<JsonNode> node = new AtomicReference<>();
+        client.request(request, throwConsumer(r -> node.set(JacksonMapper.ofJson().readTree(r.getBody()))));
+
+        return node.get();
+    }
+
+    /**
+     * The fields of the Jira instance by id, from the worker-wide metadata cache.
+     */
+    protected Map<String, JiraMetadata.Field> fieldMetadata(RunContext runContext, JiraHttpClient client) throws Exception {
+        String rBaseUrl = runContext.render(this.baseUrl);
+
+        return JiraMetadata.fields(
+            rBaseUrl,
+            runContext.render(this.metadataTtl).as(Duration.class).orElse(Duration.ofHours(1)),
+            () -> this.getJson(runContext, client, rBaseUrl + JiraUtil.FIELD_API_ROUTE)
+        );
+    }
+
+    /**
+     * Resolves an issue type name of the project to its id through the worker-wide metadata cache; ids are returned as is.
+     */
+    protected String resolveIssueTypeId(RunContext runContext, JiraHttpClient client, String project, String issueType) throws Exception {
+        String rBaseUrl = runContext.render(this.baseUrl);
+
+        return JiraMetadata.issueTypeId(
+            rBaseUrl,
+            project,
+            issueType,
+            runContext.render(this.metadataTtl).as(Duration.class).orElse(Duration.ofHours(1)),
+            () -> this.getJson(runContext, client, rBaseUrl + JiraUtil.CREATEMETA_API_ROUTE + project + "/issuetypes?maxResults=200")
+        );
+    }
+
+    /**
+     * The account id of a user given by account id, email address or display name, from the worker-wide user cache.
+     */
+    protected String resolveAccountId(RunContext runContext, JiraHttpClient client, String user) throws Exception {
+        String rBaseUrl = runContext.render(this.baseUrl);
+
+        return JiraUsers.accountId(
+            rBaseUrl,
+            user,
+            runContext.render(this.metadataTtl).as(Duration.class).orElse(Duration.ofHours(1)),
+            () -> this.getJson(runContext, client, rBaseUrl + JiraUtil.USER_SEARCH_API_ROUTE + "?query=" + URLEncoder.encode(user.trim(), StandardCharsets.UTF_8))
+        );
+    }
+
+    protected JiraHttpClient httpClient(RunContext runContext) throws IllegalVariableEvaluationException, IOException {
+        String rBaseUrl = runContext.render(this.baseUrl);
+        JiraRateLimiter rateLimiter = JiraRateLimiter.of(
+            rBaseUrl,
+            this.credentialIdentity(runContext),
+            runContext.render(this.rateLimit).as(Double.class).orElse(null)
+        );
+        JiraRetryPolicy retryPolicy = new JiraRetryPolicy(
+            runContext.render(this.maxRetries).as(Integer.class).orElse(3),
+            runContext.render(this.retryBudget).as(Duration.class).orElse(Duration.ofSeconds(30))
+        );
+
+        JiraCircuitBreaker circuitBreaker = runContext.render(this.circuitBreaker).as(Boolean.class).orElse(false)
+            ? JiraCircuitBreaker.of(
+                rBaseUrl,
+                this.credentialIdentity(runContext),
+                runContext.render(this.circuitBreakerOpenDuration).as(Duration.class).orElse(Duration.ofSeconds(30)),
+                runContext.render(this.circuitBreakerSlowCallDuration).as(Duration.class).orElse(Duration.ofSeconds(10))
+            )
+            : null;
+
+        if (runContext.render(this.reuseConnections).as(Boolean.class).orElse(false)) {
+            return JiraHttpClientPool.INSTANCE.acquire(runContext, rBaseUrl, options, rateLimiter, retryPolicy, this.credentials(runContext), circuitBreaker);
         }
+
+        return new JiraHttpClient(runContext, new HttpClient(runContext, options), null, rateLimiter, retryPolicy, this.credentials(runContext), circuitBreaker);
     }
 
-    private HttpRequest getAuthorizedRequest(
-        RunContext runContext) throws IllegalVariableEvaluationException {
+    private String credentialIdentity(RunContext runContext) throws IllegalVariableEvaluationException {
+        var renderedUsername = runContext.render(this.username).as(String.class);
+        if (renderedUsername.isPresent()) {
+            return "basic:" + renderedUsername.get();
+        }
 
-        String baseUrlRendered = runContext.render(this.baseUrl);
-        String payloadRendered = runContext.render(this.payload).as(String.class).orElse(null);
+        var renderedClientId = runContext.render(this.clientId).as(String.class);
+        if (renderedClientId.isPresent() && runContext.render(this.accessToken).as(String.class).isEmpty()) {
+            return "oauth:" + renderedClientId.get();
+        }
 
-        runContext.logger().debug("Executing request to '{}'", baseUrlRendered);
+        return "bearer:" + runContext.render(this.accessToken).as(String.class).orElse("");
+    }
 
+    /**
+     * The credentials of the task, or null when no authentication is configured.
+     */
+    protected JiraCredentials credentials(RunContext runContext) throws IllegalVariableEvaluationException {
         var renderedUsername = runContext.render(this.username).as(String.class);
         var renderedPassword = runContext.render(this.password).as(String.class);
 
-        HttpRequest.HttpRequestBuilder request = HttpRequest.builder()
-            .uri(URI.create(baseUrlRendered))
-            .method("POST")
-            .body(HttpRequest.StringRequestBody.builder().content(payloadRendered).build())
-            .addHeader("Content-Type", "application/json");
-
         if (renderedUsername.isPresent() && renderedPassword.isPresent()) {
-            String authHeader = Base64.getEncoder().encodeToString(
-                (renderedUsername.get() + ":" + renderedPassword.get()).getBytes(StandardCharsets.UTF_8)
-            );
-            return request.addHeader("Authorization", "Basic " + authHeader).build();
+            return JiraCredentials.basic(renderedUsername.get(), renderedPassword.get());
         }
 
         var accessTokenRendered = runContext.render(this.accessToken).as(String.class);
-
         if (accessTokenRendered.isPresent()) {
-            return request.addHeader("Authorization", "Bearer " + accessTokenRendered.get()).build();
+            return JiraCredentials.bearer(accessTokenRendered.get());
+        }
+
+        var clientIdRendered = runContext.render(this.clientId).as(String.class);
+        if (clientIdRendered.isPresent()) {
+            return JiraCredentials.oauth(runContext, this.options, new JiraOAuth.Client(
+                runContext.render(this.tokenUrl).as(String.class).orElse(JiraOAuth.DEFAULT_TOKEN_URL),
+                clientIdRendered.get(),
+                runContext.render(this.clientSecret).as(String.class).orElse(null),
+                runContext.render(this.refreshToken).as(String.class).orElse(null),
+                runContext.render(this.scopes).asList(String.class),
+                runContext.render(this.storeRotatedRefreshToken).as(Boolean.class).orElse(false)
+            ));
+        }
+
+        return null;
+    }
+
+    protected HttpRequest.HttpRequestBuilder authorizedRequest(
+        RunContext runContext, String method, URI uri) throws Exception {
+
+        return this.authorizedRequest(runContext, method, uri, "application/json");
+    }
+
+    protected HttpRequest.HttpRequestBuilder authorizedRequest(
+        RunContext runContext, String method, URI uri, String contentType) throws Exception {
+
+        runContext.logger().debug("Executing request to '{}'", uri);
+
+        JiraCredentials credentials = this.credentials(runContext);
+        if (credentials == null) {
+            throw new IllegalArgumentException("Missing required authentication fields");
         }
 
-        throw new IllegalArgumentException("Missing required authentication fields");
+        return HttpRequest.builder()
+            .uri(uri)
+            .method(method)
+            .addHeader("Content-Type", contentType)
+            .addHeader("Authorization", credentials.authorization());
     }
 }
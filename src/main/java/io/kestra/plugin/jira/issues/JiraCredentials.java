@@ -0,0 +1,72 @@
+package io.kestra.plugin.jira.issues;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import io.kestra.core.http.client.configurations.HttpConfiguration;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * How the requests of a task run are authorized: Basic authentication, a fixed bearer token, or an OAuth client
+ * whose access tokens are obtained and refreshed through {@link JiraOAuth}.
+ */
+final class JiraCredentials {
+    private static final String BEARER = "Bearer ";
+
+    private final String authorization;
+
+    private final RunContext runContext;
+
+    private final HttpConfiguration options;
+
+    private final JiraOAuth.Client oauth;
+
+    private JiraCredentials(String authorization, RunContext runContext, HttpConfiguration options, JiraOAuth.Client oauth) {
+        this.authorization = authorization;
+        this.runContext = runContext;
+        this.options = options;
+        this.oauth = oauth;
+    }
+
+    static JiraCredentials basic(String username, String password) {
+        String header = "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+
+        return new JiraCredentials(header, null, null, null);
+    }
+
+    static JiraCredentials bearer(String accessToken) {
+        return new JiraCredentials(BEARER + accessToken, null, null, null);
+    }
+
+    static JiraCredentials oauth(RunContext runContext, HttpConfiguration options, JiraOAuth.Client client) {
+        return new JiraCredentials(null, runContext, options, client);
+    }
+
+    /**
+     * The value of the {@code Authorization} header, requesting an OAuth access token when none is cached.
+     */
+    String authorization() throws Exception {
+        if (this.oauth == null) {
+            return this.authorization;
+        }
+
+        return BEARER + JiraOAuth.accessToken(this.runContext, this.options, this.oauth);
+    }
+
+    /**
+     * Drops a rejected OAuth access token so that {@link #authorization()} returns a new one.
+     *
+     * @return whether a new authorization may be obtained, {@code false} for fixed credentials
+     */
+    boolean refresh(String rejected) {
+        if (this.oauth == null) {
+            return false;
+        }
+
+        if (rejected != null && rejected.startsWith(BEARER)) {
+            JiraOAuth.reject(this.oauth, rejected.substring(BEARER.length()));
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,432 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.HttpResponse;
+import io.kestra.core.http.client.HttpClient;
+import io.kestra.core.http.client.HttpClientException;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+
+/**
+ * HTTP client handed to Jira tasks. Wraps a Kestra {@link HttpClient} that is either owned by the task run
+ * (closed with this wrapper) or leased from the {@link JiraHttpClientPool} (released back to it on close).
+ * <p>
+ * Every request goes through the {@link JiraRateLimiter} of the Jira instance: it waits for its slot before being sent,
+ * and requests rejected with a 429 are sent again once Jira allows it, since Jira did not process them.
+ * Transient failures (502, 503, 504, I/O errors) are retried in place with the same request and payload, following the
+ * {@link JiraRetryPolicy} of the task, so that a short Jira outage does not fail the whole task run. A request rejected
+ * with a 401 while using an OAuth access token is sent once more with a refreshed token. While the
+ * {@link JiraCircuitBreaker} of the Jira instance is open, requests fail at once without being sent.
+ * <p>
+ * Metrics are aggregated per REST route (see {@link JiraUtil#route}) and emitted once when the client is closed:
+ * the time spent waiting for Jira ({@code request.duration}, up to the response headers) is kept apart from the time
+ * spent reading the response on the worker ({@code response.duration}), next to sizes, status classes, retries and
+ * rate limiting waits.
+ */
+class JiraHttpClient implements AutoCloseable {
+    static final int MAX_THROTTLED_ATTEMPTS = 5;
+
+    private final RunContext runContext;
+
+    private final HttpClient client;
+
+    private final Runnable release;
+
+    private final JiraRateLimiter rateLimiter;
+
+    private final JiraRetryPolicy retryPolicy;
+
+    private final JiraCredentials credentials;
+
+    private final JiraCircuitBreaker circuitBreaker;
+
+    private final Map<String, RouteMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * @param circuitBreaker the breaker of the Jira instance, null when disabled
+     */
+    JiraHttpClient(
+        RunContext runContext,
+        HttpClient client,
+        Runnable release,
+        JiraRateLimiter rateLimiter,
+        JiraRetryPolicy retryPolicy,
+        JiraCredentials credentials,
+        JiraCircuitBreaker circuitBreaker
+    ) {
+        this.runContext = runContext;
+        this.client = client;
+        this.release = release;
+        this.rateLimiter = rateLimiter;
+        this.retryPolicy = retryPolicy;
+        this.credentials = credentials;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Sends the request and returns the response body as a string. The body is read in a response consumer, so that
+     * {@code request.duration} and the circuit breaker only time Jira up to the response headers.
+     */
+    String requestString(HttpRequest request) throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+        AtomicReference<String> body = new AtomicReference<>();
+
+        this.request(request, throwConsumer(response -> {
+            try (InputStream inputStream = response.getBody()) {
+                body.set(inputStream == null ? null : new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }));
+
+        return body.get();
+    }
+
+    HttpResponse<Void> request(HttpRequest request, Consumer<HttpResponse<InputStream>> consumer) throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+        RouteMetrics routeMetrics = this.metrics(request);
+        Handling handling = new Handling();
+
+        return this.execute(request, routeMetrics, handling, r -> this.client.request(r, response -> {
+            handling.calls.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                consumer.accept(response);
+            } finally {
+                long duration = System.nanoTime() - start;
+                handling.duration.addAndGet(duration);
+                routeMetrics.responseDuration.addAndGet(duration);
+            }
+        }));
+    }
+
+    private RouteMetrics metrics(HttpRequest request) {
+        return this.metrics.computeIfAbsent(JiraUtil.route(request.getUri()), route -> new RouteMetrics());
+    }
+
+    /**
+     * @param handling time spent in the response consumer of this call, kept out of {@code request.duration}
+     */
+    private <T> HttpResponse<T> execute(HttpRequest request, RouteMetrics metrics, Handling handling, Call<T> call) throws HttpClientException, IllegalVariableEvaluationException, InterruptedException {
+        if (request.getBody() instanceof HttpRequest.StringRequestBody body && body.getContent() != null) {
+            metrics.requestSize.addAndGet(body.getContent().getBytes(StandardCharsets.UTF_8).length);
+        }
+
+        // a streamed body is consumed by the first attempt and cannot be sent again
+        boolean replayable = !(request.getBody() instanceof HttpRequest.InputStreamRequestBody);
+        boolean idempotent = JiraRetryPolicy.idempotent(request);
+        long first = System.nanoTime();
+        int attempt = 1;
+        int retry = 0;
+        boolean reauthorized = false;
+
+        while (true) {
+            this.throttle(metrics);
+            this.acquire(metrics);
+
+            long start = System.nanoTime();
+            long handled = handling.duration.get();
+            try {
+                HttpResponse<T> response = call.call(request);
+                int status = response.getStatus().getCode();
+                this.record(metrics, waited(start, handling, handled), status);
+                this.rateLimiter.onResponse(status, response.getHeaders());
+
+                // only reached with an error status when `options.allowFailed` is set
+                if (status == 401) {
+                    HttpRequest refreshed = replayable && !reauthorized && handling.calls.get() == 0 ? this.reauthorize(request, metrics) : null;
+                    if (refreshed == null) {
+                        return response;
+                    }
+                    request = refreshed;
+                    reauthorized = true;
+                } else if (status == 429) {
+                    if (!replayable || !this.throttled(metrics, attempt)) {
+                        return response;
+                    }
+                } else if (!replayable || handling.calls.get() > 0 || !JiraRetryPolicy.retryable(status, idempotent)
+                    || !this.retry(metrics, ++retry, first, retryAfter(response.getHeaders()), "status " + status)) {
+                    return response;
+                }
+            } catch (HttpClientResponseException e) {
+                if (e.getResponse() == null) {
+                    this.record(metrics, waited(start, handling, handled), 0);
+                    throw e;
+                }
+
+                int status = e.getResponse().getStatus().getCode();
+                this.record(metrics, waited(start, handling, handled), status);
+                this.rateLimiter.onResponse(status, e.getResponse().getHeaders());
+
+                if (status == 401) {
+                    HttpRequest refreshed = replayable && !reauthorized ? this.reauthorize(request, metrics) : null;
+                    if (refreshed == null) {
+                        throw e;
+                    }
+                    request = refreshed;
+                    reauthorized = true;
+                } else if (status == 429) {
+                    if (!replayable || !this.throttled(metrics, attempt)) {
+                        throw e;
+                    }
+                } else if (!replayable || handling.calls.get() > 0 || !JiraRetryPolicy.retryable(status, idempotent)
+                    || !this.retry(metrics, ++retry, first, retryAfter(e.getResponse().getHeaders()), "status " + status)) {
+                    throw e;
+                }
+            } catch (HttpClientException e) {
+                this.record(metrics, waited(start, handling, handled), 0);
+
+                // once the response is being consumed, its side effects (rows written, files stored) must not be repeated
+                if (!replayable || handling.calls.get() > 0 || !JiraRetryPolicy.retryable(e, idempotent)
+                    || !this.retry(metrics, ++retry, first, null, String.valueOf(e.getMessage()))) {
+                    throw e;
+                }
+            }
+
+            attempt++;
+        }
+    }
+
+    /**
+     * Fails at once when the circuit breaker of the Jira instance is open.
+     */
+    private void acquire(RouteMetrics metrics) {
+        if (this.circuitBreaker != null && !this.circuitBreaker.tryAcquire(state -> this.transition(metrics, state))) {
+            metrics.circuitRejected.incrementAndGet();
+            throw new IllegalStateException(this.circuitBreaker.rejection());
+        }
+    }
+
+    /**
+     * @param status the response status, 0 when no response was received
+     */
+    private void record(RouteMetrics metrics, long duration, int status) {
+        metrics.record(duration, status);
+
+        if (this.circuitBreaker != null) {
+            JiraCircuitBreaker.Result result;
+            if (status == 429) {
+                // handled by the rate limiter, Jira is up
+                result = JiraCircuitBreaker.Result.IGNORED;
+            } else if (status == 0 || status == 502 || status == 503 || status == 504) {
+                result = JiraCircuitBreaker.Result.FAILURE;
+            } else if (status >= 500) {
+                // usually caused by the request itself, e.g. a payload Jira fails to handle
+                result = JiraCircuitBreaker.Result.IGNORED;
+            } else {
+                result = JiraCircuitBreaker.Result.SUCCESS;
+            }
+            this.circuitBreaker.onResult(duration, result, state -> this.transition(metrics, state));
+        }
+    }
+
+    private void transition(RouteMetrics metrics, JiraCircuitBreaker.State state) {
+        metrics.circuitTransitions.computeIfAbsent(state.name().toLowerCase(Locale.ROOT), key -> new AtomicInteger()).incrementAndGet();
+
+        if (state == JiraCircuitBreaker.State.OPEN) {
+            this.runContext.logger().warn("{}", this.circuitBreaker.rejection());
+        } else {
+            this.runContext.logger().info("Jira circuit breaker is now {}", state);
+        }
+    }
+
+    private static long waited(long start, Handling handling, long handled) {
+        return System.nanoTime() - start - (handling.duration.get() - handled);
+    }
+
+    private static Duration retryAfter(HttpHeaders headers) {
+        return headers == null ? null : headers.firstValue("Retry-After").flatMap(JiraRateLimiter::parseRetryAfter).orElse(null);
+    }
+
+    /**
+     * The request with a new OAuth access token in place of the rejected one, or null when the credentials cannot be
+     * refreshed.
+     */
+    private HttpRequest reauthorize(HttpRequest request, RouteMetrics metrics) {
+        if (this.credentials == null) {
+            return null;
+        }
+
+        String rejected = request.getHeaders().firstValue("Authorization").orElse(null);
+        if (!this.credentials.refresh(rejected)) {
+            return null;
+        }
+
+        String authorization;
+        try {
+            authorization = this.credentials.authorization();
+        } catch (Exception e) {
+            this.runContext.logger().warn("Unable to refresh the OAuth access token after a 401", e);
+            return null;
+        }
+
+        if (authorization.equals(rejected)) {
+            return null;
+        }
+
+        metrics.reauthorized.incrementAndGet();
+        this.runContext.logger().debug("Access token rejected by Jira, request will be sent again with a new token");
+
+        HttpRequest.HttpRequestBuilder builder = HttpRequest.builder()
+            .uri(request.getUri())
+            .method(request.getMethod())
+            .body(request.getBody());
+        request.getHeaders().map().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("Authorization")) {
+                values.forEach(value -> builder.addHeader(name, value));
+            }
+        });
+
+        return builder.addHeader("Authorization", authorization).build();
+    }
+
+    /**
+     * Waits before a retry of a transient failure, or returns {@code false} when the retries or the time budget of the
+     * request are exhausted.
+     */
+    private boolean retry(RouteMetrics metrics, int retry, long first, Duration retryAfter, String reason) throws InterruptedException {
+        long delay = JiraRetryPolicy.delay(retry, retryAfter);
+        if (!this.retryPolicy.allows(retry, first, delay)) {
+            if (this.retryPolicy.enabled()) {
+                metrics.retryExhausted.incrementAndGet();
+            }
+            return false;
+        }
+
+        metrics.retries.incrementAndGet();
+        metrics.retryWait.addAndGet(delay);
+        this.runContext.logger().warn("Transient Jira failure ({}), request will be sent again in {} ms (retry {})", reason, TimeUnit.NANOSECONDS.toMillis(delay), retry);
+        TimeUnit.NANOSECONDS.sleep(delay);
+
+        return true;
+    }
+
+    private boolean throttled(RouteMetrics metrics, int attempt) {
+        if (attempt >= MAX_THROTTLED_ATTEMPTS) {
+            return false;
+        }
+
+        metrics.throttled.incrementAndGet();
+        metrics.retries.incrementAndGet();
+        this.runContext.logger().warn("Jira rate limit reached, request will be sent again (attempt {}/{})", attempt, MAX_THROTTLED_ATTEMPTS);
+
+        return true;
+    }
+
+    private void throttle(RouteMetrics metrics) throws InterruptedException {
+        long wait = this.rateLimiter.reserve();
+
+        if (wait > 0) {
+            metrics.throttleWait.addAndGet(wait);
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.metrics.forEach((route, metrics) -> metrics.emit(this.runContext, route));
+
+        if (this.release != null) {
+            this.release.run();
+        } else {
+            this.client.close();
+        }
+    }
+
+    private static class RouteMetrics {
+        private final AtomicLong requests = new AtomicLong();
+
+        private final AtomicLong requestDuration = new AtomicLong();
+
+        private final AtomicLong responseDuration = new AtomicLong();
+
+        private final AtomicLong requestSize = new AtomicLong();
+
+        private final AtomicLong throttleWait = new AtomicLong();
+
+        private final AtomicInteger throttled = new AtomicInteger();
+
+        private final AtomicInteger retries = new AtomicInteger();
+
+        private final AtomicLong retryWait = new AtomicLong();
+
+        private final AtomicInteger retryExhausted = new AtomicInteger();
+
+        private final AtomicInteger reauthorized = new AtomicInteger();
+
+        private final AtomicInteger circuitRejected = new AtomicInteger();
+
+        private final Map<String, AtomicInteger> circuitTransitions = new ConcurrentHashMap<>();
+
+        private final Map<String, AtomicLong> statuses = new ConcurrentHashMap<>();
+
+        void record(long duration, int status) {
+            this.requests.incrementAndGet();
+            this.requestDuration.addAndGet(duration);
+            this.statuses.computeIfAbsent(status == 0 ? "error" : (status / 100) + "xx", key -> new AtomicLong()).incrementAndGet();
+        }
+
+        void emit(RunContext runContext, String route) {
+            if (this.requests.get() > 0) {
+                runContext.metric(Counter.of("requests", this.requests.get(), "route", route));
+                runContext.metric(Timer.of("request.duration", Duration.ofNanos(this.requestDuration.get()), "route", route));
+                runContext.metric(Counter.of("request.size", this.requestSize.get(), "route", route));
+                this.statuses.forEach((status, count) -> runContext.metric(Counter.of("responses", count.get(), "route", route, "status", status)));
+            }
+            if (this.responseDuration.get() > 0) {
+                runContext.metric(Timer.of("response.duration", Duration.ofNanos(this.responseDuration.get()), "route", route));
+            }
+            if (this.throttleWait.get() > 0) {
+                runContext.metric(Timer.of("throttle.wait", Duration.ofNanos(this.throttleWait.get()), "route", route));
+            }
+            if (this.throttled.get() > 0) {
+                runContext.metric(Counter.of("throttle.rejected", this.throttled.get(), "route", route));
+            }
+            if (this.retries.get() > 0) {
+                runContext.metric(Counter.of("retries", this.retries.get(), "route", route));
+            }
+            if (this.retryWait.get() > 0) {
+                runContext.metric(Timer.of("retry.wait", Duration.ofNanos(this.retryWait.get()), "route", route));
+            }
+            if (this.retryExhausted.get() > 0) {
+                runContext.metric(Counter.of("retry.exhausted", this.retryExhausted.get(), "route", route));
+            }
+            if (this.reauthorized.get() > 0) {
+                runContext.metric(Counter.of("auth.refreshed", this.reauthorized.get(), "route", route));
+            }
+            if (this.circuitRejected.get() > 0) {
+                runContext.metric(Counter.of("circuit.rejected", this.circuitRejected.get(), "route", route));
+            }
+            this.circuitTransitions.forEach((state, count) -> runContext.metric(Counter.of("circuit.transitions", count.get(), "route", route, "state", state)));
+        }
+    }
+
+    /**
+     * What the response consumer of one call did: how many responses it was handed and how long it took.
+     */
+    private static class Handling {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final AtomicLong duration = new AtomicLong();
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        HttpResponse<T> call(HttpRequest request) throws HttpClientException, IllegalVariableEvaluationException;
+    }
+}
@@ -0,0 +1,114 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.http.client.HttpClient;
+import io.kestra.core.http.client.configurations.HttpConfiguration;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Worker-wide pool of {@link HttpClient}, keyed by tenant, namespace, Jira host and rendered HTTP configuration, so that
+ * task runs targeting the same Jira instance reuse open keep-alive connections instead of paying for a new TLS handshake
+ * each time. A client keeps the proxy, SSL and authentication settings it was built with, so runs only share it when
+ * they render the same configuration, and never across namespaces.
+ * <p>
+ * The pool is bounded: idle clients are closed after {@link #IDLE_TIMEOUT}, and when {@link #MAX_CLIENTS} clients are
+ * all in use a non-pooled client is handed out instead.
+ */
+final class JiraHttpClientPool {
+    static final JiraHttpClientPool INSTANCE = new JiraHttpClientPool();
+
+    static final int MAX_CLIENTS = 16;
+
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    // access-ordered, so iteration starts with the least recently used client
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private JiraHttpClientPool() {
+    }
+
+    synchronized JiraHttpClient acquire(RunContext runContext, String baseUrl, HttpConfiguration options, JiraRateLimiter rateLimiter, JiraRetryPolicy retryPolicy, JiraCredentials credentials, JiraCircuitBreaker circuitBreaker) throws IllegalVariableEvaluationException, IOException {
+        this.evictIdle(System.nanoTime());
+
+        String key = key(runContext, baseUrl, options);
+        Entry entry = this.entries.get(key);
+
+        if (entry != null) {
+            runContext.metric(Counter.of("pool.hit", 1));
+        } else {
+            runContext.metric(Counter.of("pool.miss", 1));
+
+            if (this.entries.size() >= MAX_CLIENTS && !this.evictLeastRecentlyUsed()) {
+                runContext.logger().debug("HTTP client pool is full, using a dedicated client");
+                return new JiraHttpClient(runContext, new HttpClient(runContext, options), null, rateLimiter, retryPolicy, credentials, circuitBreaker);
+            }
+
+            entry = new Entry(new HttpClient(runContext, options));
+            this.entries.put(key, entry);
+        }
+
+        entry.leases.incrementAndGet();
+
+        return new JiraHttpClient(runContext, entry.client, entry::release, rateLimiter, retryPolicy, credentials, circuitBreaker);
+    }
+
+    private void evictIdle(long now) throws IOException {
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.leases.get() == 0 && now - entry.lastUsed > IDLE_TIMEOUT.toNanos()) {
+                iterator.remove();
+                entry.client.close();
+            }
+        }
+    }
+
+    private boolean evictLeastRecentlyUsed() throws IOException {
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.leases.get() == 0) {
+                iterator.remove();
+                entry.client.close();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String key(RunContext runContext, String baseUrl, HttpConfiguration options) throws IllegalVariableEvaluationException, IOException {
+        // rendered, so that the same `secret()` expression resolving to different values never shares a client
+        String configuration = options == null ? "" : runContext.render(JacksonMapper.ofJson().writeValueAsString(options));
+        var flowInfo = runContext.flowInfo();
+
+        // hashed so that credentials held by the configuration are not kept around as plain text
+        return JiraUtil.sha256(flowInfo.tenantId() + "\n" + flowInfo.namespace() + "\n" + JiraUtil.origin(baseUrl) + "\n" + configuration);
+    }
+
+    private static final class Entry {
+        private final HttpClient client;
+
+        private final AtomicInteger leases = new AtomicInteger();
+
+        private volatile long lastUsed = System.nanoTime();
+
+        private Entry(HttpClient client) {
+            this.client = client;
+        }
+
+        private void release() {
+            this.lastUsed = System.nanoTime();
+            this.leases.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package io.kestra.plugin.jira.issues;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Worker-wide cache of the Jira metadata needed to accept display names instead of raw ids: the fields of an instance
+ * ({@code /rest/api/2/field}, keyed by base URL) and the issue types of a project (createmeta, keyed by base URL and
+ * project). Entries are loaded on first use, expire after the TTL given by the caller, and concurrent tasks missing the
+ * same entry share a single fetch.
+ */
+final class JiraMetadata {
+    // system field ids (summary, fixVersions, ...) and custom field ids never need a lookup
+    private static final Pattern FIELD_ID = Pattern.compile("customfield_\\d+|[a-z][A-Za-z]*");
+
+    private static final Pattern NUMERIC_ID = Pattern.compile("\\d+");
+
+    // values Jira expects as an object such as {"name": "..."}, {"id": "..."} or {"accountId": "..."}
+    private static final Set<String> OBJECT_TYPES = Set.of(
+        "component", "group", "issuetype", "option", "priority", "project", "resolution", "securitylevel", "user", "version"
+    );
+
+    private static final TtlCache<String, Map<String, Field>> FIELDS = new TtlCache<>(64);
+
+    private static final TtlCache<String, Map<String, String>> ISSUE_TYPES = new TtlCache<>(512);
+
+    private JiraMetadata() {
+    }
+
+    static Map<String, Field> fields(String baseUrl, Duration ttl, Callable<JsonNode> loader) throws Exception {
+        return FIELDS.get(baseUrl, ttl, () -> parseFields(loader.call()));
+    }
+
+    static String issueTypeId(String baseUrl, String project, String issueType, Duration ttl, Callable<JsonNode> loader) throws Exception {
+        if (NUMERIC_ID.matcher(issueType).matches()) {
+            return issueType;
+        }
+
+        Map<String, String> issueTypes = ISSUE_TYPES.get(baseUrl + "|" + project, ttl, () -> parseIssueTypes(loader.call()));
+        String id = issueTypes.get(issueType.toLowerCase(Locale.ROOT));
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown issue type '" + issueType + "' in project '" + project + "', available: " + String.join(", ", issueTypes.keySet()));
+        }
+
+        return id;
+    }
+
+    /**
+     * Whether all the keys are field ids, so that the payload can be sent without fetching the field metadata.
+     */
+    static boolean allFieldIds(Collection<String> keys) {
+        return keys.stream().allMatch(key -> FIELD_ID.matcher(key).matches());
+    }
+
+    /**
+     * Replaces field display names by field ids, keeping the order of the entries.
+     *
+     * @param validate also checks that every value has the JSON type expected by the field schema
+     */
+    static Map<String, Object> resolve(Map<String, Object> values, Map<String, Field> fields, boolean validate) {
+        Map<String, Object> resolved = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Optional<Field> field = find(fields, entry.getKey(), errors);
+            if (field.isEmpty()) {
+                continue;
+            }
+
+            if (validate) {
+                check(field.get(), entry.getValue()).ifPresent(errors::add);
+            }
+            resolved.put(field.get().id(), entry.getValue());
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid fields: " + String.join("; ", errors));
+        }
+
+        return resolved;
+    }
+
+    /**
+     * The id of a field given by id or display name.
+     */
+    static String fieldId(Map<String, Field> fields, String key) {
+        List<String> errors = new ArrayList<>();
+
+        return find(fields, key, errors)
+            .map(Field::id)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid field: " + String.join("; ", errors)));
+    }
+
+    private static Optional<Field> find(Map<String, Field> fields, String key, List<String> errors) {
+        Field byId = fields.get(key);
+        if (byId != null) {
+            return Optional.of(byId);
+        }
+
+        List<Field> byName = fields.values().stream()
+            .filter(field -> field.name() != null && field.name().equalsIgnoreCase(key))
+            .toList();
+
+        if (byName.size() == 1) {
+            return Optional.of(byName.get(0));
+        }
+
+        if (byName.isEmpty()) {
+            errors.add("unknown field '" + key + "'");
+        } else {
+            errors.add("field name '" + key + "' is ambiguous, use one of " + byName.stream().map(Field::id).collect(Collectors.joining(", ")));
+        }
+
+        return Optional.empty();
+    }
+
+    static Optional<String> check(Field field, Object value) {
+        if (value == null || field.type() == null) {
+            return Optional.empty();
+        }
+
+        boolean valid = switch (field.type()) {
+            case "number" -> value instanceof Number;
+            case "string", "date", "datetime" -> value instanceof String;
+            case "array" -> value instanceof Collection<?>;
+            // resolved to an account id by JiraUsers
+            case "user" -> value instanceof Map<?, ?> || value instanceof String;
+            default -> !OBJECT_TYPES.contains(field.type()) || value instanceof Map<?, ?>;
+        };
+
+        if (valid) {
+            return Optional.empty();
+        }
+
+        return Optional.of("field '" + field.name() + "' (" + field.id() + ") expects " +
+            (OBJECT_TYPES.contains(field.type()) ? "an object such as {\"name\": ...} or {\"id\": ...}" : "a " + field.type()) +
+            " but got " + value.getClass().getSimpleName());
+    }
+
+    static Map<String, Field> parseFields(JsonNode response) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+
+        if (response != null && response.isArray()) {
+            for (JsonNode node : response) {
+                String id = node.path("id").asText(null);
+                if (id != null) {
+                    JsonNode schema = node.path("schema");
+                    fields.put(id, new Field(id, node.path("name").asText(null), schema.path("type").asText(null), schema.path("items").asText(null)));
+                }
+            }
+        }
+
+        return fields;
+    }
+
+    static Map<String, String> parseIssueTypes(JsonNode response) {
+        Map<String, String> issueTypes = new LinkedHashMap<>();
+        if (response == null) {
+            return issueTypes;
+        }
+
+        // Jira Cloud returns "issueTypes", Jira Data Center a paged "values" list
+        JsonNode nodes = response.has("issueTypes") ? response.get("issueTypes") : response.path("values");
+        for (JsonNode node : nodes) {
+            if (node.hasNonNull("name") && node.hasNonNull("id")) {
+                issueTypes.put(node.get("name").asText().toLowerCase(Locale.ROOT), node.get("id").asText());
+            }
+        }
+
+        return issueTypes;
+    }
+
+    /**
+     * @param items the type of the values of an {@code array} field, e.g. {@code user} for a multi-user picker
+     */
+    record Field(String id, String name, String type, String items) {}
+}
@@ -0,0 +1,223 @@
+package io.kestra.plugin.jira.issues;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.client.HttpClient;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.http.client.configurations.HttpConfiguration;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * OAuth 2.0 access tokens obtained by the Jira tasks themselves, with the client credentials grant or a refresh token.
+ * <p>
+ * Tokens are shared by all the tasks of a worker using the same client, secret, refresh token and scopes, cached under
+ * a hash of them. A token is reused until shortly before {@code expires_in} runs out, concurrent refreshes of the same
+ * client collapse into a single token request, and a token rejected by Jira with a 401 is dropped so that the next
+ * caller gets a new one.
+ * <p>
+ * Refresh tokens rotated by the authorization server are used instead of the configured one. They are kept in the
+ * memory of the worker, unless the client opts in to {@link Client#storeRotatedRefreshToken()}: they are then stored in
+ * the KV store of the flow namespace for {@link #ROTATED_REFRESH_TOKEN_TTL}, in clear text and readable by anyone with
+ * access to the namespace KV store, so that they survive worker restarts and are shared by the workers. Rotation chains
+ * are per namespace: a client with rotating refresh tokens must only be used from one namespace, since the first
+ * namespace to rotate the configured token invalidates it for the others.
+ * <p>
+ * When the authorization server answers with {@code invalid_grant}, another worker or task may have rotated the token
+ * in the meantime: the stored token is read again and, if it changed, the refresh is retried once with it.
+ */
+final class JiraOAuth {
+    static final String DEFAULT_TOKEN_URL = "https://auth.atlassian.com/oauth/token";
+
+    // tokens are refreshed this long before they expire, or after 90% of their lifetime for short-lived tokens
+    static final Duration EARLY_REFRESH = Duration.ofMinutes(1);
+
+    // lifetime assumed when the token response has no `expires_in`
+    static final Duration DEFAULT_EXPIRES_IN = Duration.ofMinutes(10);
+
+    // Atlassian refresh tokens expire after 90 days without being used
+    static final Duration ROTATED_REFRESH_TOKEN_TTL = Duration.ofDays(90);
+
+    static final String ROTATED_REFRESH_TOKEN_KV_PREFIX = "jira-oauth-refresh-token-";
+
+    private static final String INVALID_GRANT = "invalid_grant";
+
+    private static final TtlCache<String, Token> TOKENS = new TtlCache<>(256);
+
+    // rotated refresh tokens of the clients not storing them in the KV store, lost when the worker restarts
+    private static final TtlCache<String, String> ROTATED_REFRESH_TOKENS = new TtlCache<>(256);
+
+    private JiraOAuth() {
+    }
+
+    static String accessToken(RunContext runContext, HttpConfiguration options, Client client) throws Exception {
+        return TOKENS.get(client.key(), JiraOAuth::ttl, () -> fetch(runContext, options, client)).accessToken();
+    }
+
+    /**
+     * Drops the token if it is still the cached one, so that the next {@link #accessToken} call requests a new token.
+     */
+    static void reject(Client client, String accessToken) {
+        TOKENS.getIfPresent(client.key())
+            .filter(token -> token.accessToken().equals(accessToken))
+            .ifPresent(token -> TOKENS.invalidate(client.key(), token));
+    }
+
+    static Duration ttl(Token token) {
+        Duration early = token.expiresIn().dividedBy(10);
+        if (early.compareTo(EARLY_REFRESH) > 0) {
+            early = EARLY_REFRESH;
+        }
+
+        return token.expiresIn().minus(early);
+    }
+
+    private static Token fetch(RunContext runContext, HttpConfiguration options, Client client) throws Exception {
+        if (client.refreshToken() == null) {
+            return parse(request(runContext, options, client, null));
+        }
+
+        String refreshToken = refreshToken(runContext, client);
+        JsonNode response = request(runContext, options, client, refreshToken);
+        if (INVALID_GRANT.equals(response.path("error").asText(null))) {
+            String latest = refreshToken(runContext, client);
+            if (!latest.equals(refreshToken)) {
+                runContext.logger().debug("The Jira OAuth refresh token was rotated concurrently, retrying with the new one");
+                refreshToken = latest;
+                response = request(runContext, options, client, refreshToken);
+            }
+        }
+
+        Token token = parse(response);
+        if (token.refreshToken() != null && !token.refreshToken().equals(refreshToken)) {
+            if (client.storeRotatedRefreshToken()) {
+                runContext.namespaceKv(runContext.flowInfo().namespace()).put(
+                    ROTATED_REFRESH_TOKEN_KV_PREFIX + client.key(),
+                    new KVValueAndMetadata(new KVMetadata("Refresh token rotated for the Jira OAuth client " + client.clientId(), ROTATED_REFRESH_TOKEN_TTL), token.refreshToken())
+                );
+            } else {
+                ROTATED_REFRESH_TOKENS.put(client.key(), token.refreshToken(), ROTATED_REFRESH_TOKEN_TTL);
+            }
+        }
+        runContext.logger().debug("Obtained a Jira OAuth access token valid for {}", token.expiresIn());
+
+        return token;
+    }
+
+    /**
+     * The latest refresh token of the client: the last rotated one, or the configured one.
+     */
+    private static String refreshToken(RunContext runContext, Client client) throws Exception {
+        Optional<String> rotated = client.storeRotatedRefreshToken() ?
+            runContext.namespaceKv(runContext.flowInfo().namespace())
+                .getValue(ROTATED_REFRESH_TOKEN_KV_PREFIX + client.key())
+                .map(KVValue::value)
+                .map(String::valueOf) :
+            ROTATED_REFRESH_TOKENS.getIfPresent(client.key());
+
+        return rotated.orElse(client.refreshToken());
+    }
+
+    /**
+     * Requests a token and returns the JSON response, also when the authorization server rejected the request, so that
+     * the caller can tell an {@code invalid_grant} apart.
+     */
+    private static JsonNode request(RunContext runContext, HttpConfiguration options, Client client, String refreshToken) throws Exception {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", refreshToken != null ? "refresh_token" : "client_credentials");
+        form.put("client_id", client.clientId());
+        if (client.clientSecret() != null) {
+            form.put("client_secret", client.clientSecret());
+        }
+        if (refreshToken != null) {
+            form.put("refresh_token", refreshToken);
+        }
+        if (!client.scopes().isEmpty()) {
+            form.put("scope", String.join(" ", client.scopes()));
+        }
+
+        HttpRequest request = HttpRequest.builder()
+            .uri(URI.create(client.tokenUrl()))
+            .method("POST")
+            .addHeader("Content-Type", "application/x-www-form-urlencoded")
+            .addHeader("Accept", "application/json")
+            .body(HttpRequest.StringRequestBody.builder().content(form(form)).build())
+            .build();
+
+        String body;
+        try (HttpClient httpClient = new HttpClient(runContext, options)) {
+            body = httpClient.request(request, String.class).getBody();
+        } catch (HttpClientResponseException e) {
+            body = e.getResponse() == null || e.getResponse().getBody() == null ? null : bodyAsString(e.getResponse().getBody());
+            if (body == null || !body.trim().startsWith("{")) {
+                throw e;
+            }
+        }
+
+        return JacksonMapper.ofJson().readTree(body);
+    }
+
+    private static String bodyAsString(Object body) {
+        return body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString();
+    }
+
+    static Token parse(JsonNode response) {
+        String accessToken = response == null ? null : response.path("access_token").asText(null);
+        if (accessToken == null || accessToken.isBlank()) {
+            String error = response == null ? "" : response.path("error_description").asText(response.path("error").asText(""));
+            throw new IllegalStateException("The OAuth token response has no 'access_token'" + (error.isEmpty() ? "" : ": " + error));
+        }
+
+        long expiresIn = response.path("expires_in").asLong(0);
+
+        return new Token(
+            accessToken,
+            expiresIn > 0 ? Duration.ofSeconds(expiresIn) : DEFAULT_EXPIRES_IN,
+            response.path("refresh_token").asText(null)
+        );
+    }
+
+    private static String form(Map<String, String> values) {
+        return values.entrySet().stream()
+            .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+    }
+
+    /**
+     * The identity tokens are cached for: the token endpoint, the client and the grant it uses, and the requested scopes.
+     */
+    record Client(String tokenUrl, String clientId, String clientSecret, String refreshToken, List<String> scopes, boolean storeRotatedRefreshToken) {
+        /**
+         * A hash of the client, so that caches and KV keys never hold its secrets.
+         */
+        String key() {
+            return JiraUtil.sha256(String.join("\n", this.tokenUrl, this.clientId, String.valueOf(this.clientSecret), String.valueOf(this.refreshToken), String.join(" ", this.scopes)));
+        }
+
+        @Override
+        public String toString() {
+            return "Client[tokenUrl=" + this.tokenUrl + ", clientId=" + this.clientId + ", scopes=" + this.scopes + "]";
+        }
+    }
+
+    record Token(String accessToken, Duration expiresIn, String refreshToken) {
+        @Override
+        public String toString() {
+            return "Token[expiresIn=" + this.expiresIn + "]";
+        }
+    }
+}
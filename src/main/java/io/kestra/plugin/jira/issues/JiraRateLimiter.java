@@ -0,0 +1,173 @@
+package io.kestra.plugin.jira.issues;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Request budget shared by all the Jira tasks of a worker that target the same Jira instance with the same credentials.
+ * <p>
+ * Requests are spaced out so that at most {@code rate} requests per second are sent, Guava-style: each caller reserves
+ * the next free slot and waits until it is reached. The rate adapts to what Jira reports: it is spread over the
+ * remaining quota when {@code X-RateLimit-Remaining} / {@code X-RateLimit-Reset} are returned, halved on a 429,
+ * blocked until {@code Retry-After} has elapsed, then slowly raised back.
+ * <p>
+ * What Jira reports is shared through a worker-wide {@link State}, dropped after {@link #STATE_TTL} without use, while
+ * the static {@code maxRate} of a task only applies to its own reservations, so that one task's {@code rateLimit}
+ * never changes the limit of the others.
+ */
+final class JiraRateLimiter {
+    static final Duration STATE_TTL = Duration.ofMinutes(30);
+
+    private static final TtlCache<String, State> STATES = new TtlCache<>(1024);
+
+    static final double MIN_RATE = 0.5;
+
+    // rate applied after a first 429 when no static limit is configured
+    static final double THROTTLED_RATE = 5.0;
+
+    private final State state;
+
+    private final double maxRate;
+
+    JiraRateLimiter() {
+        this(Double.POSITIVE_INFINITY);
+    }
+
+    JiraRateLimiter(double maxRate) {
+        this(new State(), maxRate);
+    }
+
+    private JiraRateLimiter(State state, double maxRate) {
+        this.state = state;
+        this.maxRate = maxRate;
+    }
+
+    static JiraRateLimiter of(String baseUrl, String credential, Double maxRate) {
+        String key = key(baseUrl, credential);
+
+        State state;
+        try {
+            state = STATES.get(key, STATE_TTL, State::new);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        // renewed on every use, so that only the states of idle instances or rotated credentials expire
+        STATES.put(key, state, STATE_TTL);
+
+        return new JiraRateLimiter(state, maxRate == null ? Double.POSITIVE_INFINITY : maxRate);
+    }
+
+    /**
+     * The rate applied to the requests of this task: the shared rate, capped by the static limit of the task.
+     */
+    double rate() {
+        return Math.min(this.state.rate(), this.maxRate);
+    }
+
+    /**
+     * Reserves the next slot and returns how long the caller must wait before sending its request, in nanoseconds.
+     */
+    long reserve() {
+        return this.state.reserve(this.maxRate);
+    }
+
+    void onResponse(int status, HttpHeaders headers) {
+        this.state.onResponse(status, headers, this.maxRate);
+    }
+
+    static Optional<Duration> parseRetryAfter(String value) {
+        try {
+            return Optional.of(Duration.ofSeconds(Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration duration = Duration.between(Instant.now(), date.toInstant());
+                return Optional.of(duration.isNegative() ? Duration.ZERO : duration);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static Optional<Long> parseLong(String value) {
+        try {
+            return Optional.of(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Instant> parseInstant(String value) {
+        try {
+            return Optional.of(ZonedDateTime.parse(value.trim(), DateTimeFormatter.ISO_DATE_TIME).toInstant());
+        } catch (DateTimeParseException e) {
+            // some deployments send an epoch timestamp, in seconds
+            return parseLong(value).map(Instant::ofEpochSecond);
+        }
+    }
+
+    private static final class State {
+        private double rate = Double.POSITIVE_INFINITY;
+
+        private long nextFree = System.nanoTime();
+
+        private long blockedUntil = System.nanoTime();
+
+        synchronized double rate() {
+            return this.rate;
+        }
+
+        synchronized long reserve(double maxRate) {
+            long now = System.nanoTime();
+            long start = Math.max(now, Math.max(this.nextFree, this.blockedUntil));
+            double rate = Math.min(this.rate, maxRate);
+
+            this.nextFree = Double.isInfinite(rate) ? start : start + (long) (1_000_000_000L / rate);
+
+            return start - now;
+        }
+
+        synchronized void onResponse(int status, HttpHeaders headers, double maxRate) {
+            long now = System.nanoTime();
+
+            Optional<Duration> retryAfter = headers == null ? Optional.empty() : headers.firstValue("Retry-After").flatMap(JiraRateLimiter::parseRetryAfter);
+            retryAfter.ifPresent(duration -> this.blockedUntil = Math.max(this.blockedUntil, now + duration.toNanos()));
+
+            if (status == 429) {
+                // halves the rate the throttled caller was actually sending at
+                double rate = Math.min(this.rate, maxRate);
+                this.rate = Double.isInfinite(rate) ? THROTTLED_RATE : Math.max(MIN_RATE, rate / 2);
+                return;
+            }
+
+            Optional<Long> remaining = headers == null ? Optional.empty() : headers.firstValue("X-RateLimit-Remaining").flatMap(JiraRateLimiter::parseLong);
+            Optional<Instant> reset = headers == null ? Optional.empty() : headers.firstValue("X-RateLimit-Reset").flatMap(JiraRateLimiter::parseInstant);
+
+            if (remaining.isPresent() && reset.isPresent()) {
+                double untilReset = Math.max(Duration.between(Instant.now(), reset.get()).toMillis() / 1000.0, 0.001);
+
+                if (remaining.get() <= 0) {
+                    this.blockedUntil = Math.max(this.blockedUntil, now + (long) (untilReset * 1_000_000_000L));
+                } else {
+                    // spread the remaining quota until the reset, so that we slow down before hitting the limit
+                    this.rate = Math.max(MIN_RATE, remaining.get() / untilReset);
+                }
+                return;
+            }
+
+            if (status < 400 && !Double.isInfinite(this.rate)) {
+                // additive increase once Jira stops complaining
+                this.rate = this.rate + 1;
+            }
+        }
+    }
+
+    private static String key(String baseUrl, String credential) {
+        return JiraUtil.sha256(JiraUtil.origin(baseUrl) + "\n" + credential);
+    }
+}
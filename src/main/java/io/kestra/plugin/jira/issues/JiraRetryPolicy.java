@@ -0,0 +1,118 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * When and how long {@link JiraHttpClient} waits before sending a request again after a transient failure.
+ * <p>
+ * A 502, 503 or 504 response or an I/O error is retried with full-jitter exponential backoff (a random delay between
+ * zero and {@code base * 2^retry}, capped), or after {@code Retry-After} when Jira sends it, as long as the next attempt
+ * starts within the time budget of the request. Requests that may have been processed by Jira are only retried when
+ * sending them twice is harmless: a {@code POST} creating something, or a {@code PUT} with {@code update} operations such
+ * as adding a label or a comment, is retried on a 503 or when the connection could not be opened, never on a 502, a 504
+ * or an error after the request was sent. Even then, a 503 may come from a proxy in front of a Jira that did process
+ * the request, so such a retry makes duplicates unlikely, not impossible.
+ */
+final class JiraRetryPolicy {
+    static final Duration BASE_DELAY = Duration.ofMillis(200);
+
+    static final Duration MAX_DELAY = Duration.ofSeconds(5);
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "DELETE");
+
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(502, 503, 504);
+
+    private final int maxRetries;
+
+    private final Duration budget;
+
+    JiraRetryPolicy(int maxRetries, Duration budget) {
+        this.maxRetries = maxRetries;
+        this.budget = budget;
+    }
+
+    boolean enabled() {
+        return this.maxRetries > 0;
+    }
+
+    /**
+     * Whether the request can be sent twice without side effects: safe and idempotent methods, and the read-only search
+     * and worklog list endpoints that Jira exposes as {@code POST}. A {@code PUT} is not idempotent when its body holds
+     * {@code update} operations, which add to the issue instead of setting it.
+     */
+    static boolean idempotent(HttpRequest request) {
+        String method = request.getMethod() == null ? "GET" : request.getMethod().toUpperCase();
+        if (method.equals("PUT")) {
+            return !hasUpdateOperations(request);
+        }
+        if (IDEMPOTENT_METHODS.contains(method)) {
+            return true;
+        }
+
+        String path = request.getUri() == null || request.getUri().getPath() == null ? "" : request.getUri().getPath();
+
+        return path.endsWith(JiraUtil.SEARCH_API_ROUTE) || path.endsWith(JiraUtil.SEARCH_JQL_API_ROUTE) || path.endsWith(JiraUtil.WORKLOG_LIST_API_ROUTE);
+    }
+
+    private static boolean hasUpdateOperations(HttpRequest request) {
+        if (!(request.getBody() instanceof HttpRequest.StringRequestBody body) || body.getContent() == null || !body.getContent().contains("\"update\"")) {
+            return false;
+        }
+
+        try {
+            JsonNode update = JacksonMapper.ofJson().readTree(body.getContent()).path("update");
+            return update.isObject() && !update.isEmpty();
+        } catch (Exception e) {
+            // not a JSON we understand, assume the worst
+            return true;
+        }
+    }
+
+    static boolean retryable(int status, boolean idempotent) {
+        return idempotent ? TRANSIENT_STATUSES.contains(status) : status == 503;
+    }
+
+    static boolean retryable(Throwable error, boolean idempotent) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                // the request never reached Jira
+                return true;
+            }
+            if (idempotent && cause instanceof IOException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Delay before the given retry (starting at 1), in nanoseconds: {@code Retry-After} when present, otherwise a random
+     * delay up to the exponential backoff.
+     */
+    static long delay(int retry, Duration retryAfter) {
+        if (retryAfter != null) {
+            return retryAfter.toNanos();
+        }
+
+        long ceiling = Math.min(MAX_DELAY.toNanos(), BASE_DELAY.toNanos() << Math.min(retry - 1, 20));
+
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Whether a retry waiting {@code delay} nanoseconds may still be sent for a request first sent at {@code start}.
+     */
+    boolean allows(int retry, long start, long delay) {
+        return retry <= this.maxRetries && System.nanoTime() + delay - start <= this.budget.toNanos();
+    }
+}
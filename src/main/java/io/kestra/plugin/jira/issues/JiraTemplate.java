@@ -1,15 +1,18 @@
 package io.kestra.plugin.jira.issues;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.*;
 
-import org.apache.commons.io.IOUtils;
-
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.VoidOutput;
+import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.Rethrow;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
@@ -21,11 +24,20 @@ import lombok.experimental.SuperBuilder;
 @EqualsAndHashCode
 @Getter
 @NoArgsConstructor
-public abstract class JiraTemplate extends JiraClient {
+public abstract class JiraTemplate extends JiraClient implements RunnableTask<JiraTemplate.Output> {
 
     @Schema(
-        title = "Template resource path",
-        hidden = true
+        title = "Prepared JSON payload",
+        description = "Rendered body sent as `application/json`; usually built from a template when not explicitly provided."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<String> payload;
+
+    @Schema(
+        title = "Payload template",
+        description = "Pebble template rendering the JSON payload from the task properties. Defaults to the template bundled with the task; " +
+            "set it to a namespace file (`nsfile:///templates/issue.peb`) or an internal storage file (`kestra://...`) to use your own. " +
+            "`projectKey`, `summary`, `description` and `labels` are JSON-escaped, to be placed inside JSON strings such as `\"summary\": \"{{ summary }}\"`."
     )
     @PluginProperty(group = "advanced")
     protected Property<String> templateUri;
@@ -66,15 +78,90 @@ public abstract class JiraTemplate extends JiraClient {
     @PluginProperty(group = "advanced")
     protected Property<String> issueTypeId;
 
-    @SuppressWarnings("unchecked")
+    @Schema(
+        title = "Issue type name",
+        description = "Issue type of `projectKey` such as `Bug` or `Task`, resolved to its id through the worker-wide metadata cache; ignored when `issueTypeId` is set."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<String> issueType;
+
+    @Schema(
+        title = "Assignee",
+        description = "Email address, display name or account id of the user the issue is assigned to. Emails and display names are resolved to account ids through the worker-wide user cache."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<String> assignee;
+
+    @Schema(
+        title = "Reporter",
+        description = "Email address, display name or account id of the user reporting the issue, resolved like `assignee`; the Jira user of the task must be allowed to modify reporters."
+    )
+    @PluginProperty(group = "advanced")
+    protected Property<String> reporter;
+
     @Override
-    public VoidOutput run(RunContext runContext) throws Exception {
-        var renderedPayload = runContext.render(this.payload).as(String.class);
-        if (renderedPayload.isPresent() && !renderedPayload.get().isBlank()) {
-            return super.run(runContext);
+    public Output run(RunContext runContext) throws Exception {
+        String body = this.renderBody(runContext);
+        String uri = runContext.render(this.baseUrl) + this.route(runContext);
+
+        long start = System.nanoTime();
+        Map<String, String> response = this.request(runContext, this.method(), uri, body);
+
+        return Output.builder()
+            .id(response.get("id"))
+            .key(response.get("key"))
+            .self(response.get("self") == null ? null : URI.create(response.get("self")))
+            .duration(Duration.ofNanos(System.nanoTime() - start))
+            .build();
+    }
+
+    /**
+     * The REST route appended to the rendered {@code baseUrl}; the task properties are left untouched so that
+     * connection settings keyed by {@code baseUrl} (rate limits, pooled clients, metadata) are shared across routes.
+     */
+    protected String route(RunContext runContext) throws Exception {
+        return "";
+    }
+
+    /**
+     * The HTTP method used to send the payload.
+     */
+    protected String method() {
+        return "POST";
+    }
+
+    /**
+     * Returns the {@code payload} when set, the payload built by {@link #renderPayload(RunContext)} otherwise.
+     */
+    protected String renderBody(RunContext runContext) throws Exception {
+        if (this.payload == null) {
+            return this.renderPayload(runContext);
         }
 
-        Map<String, Object> mainMap = new HashMap<>();
+        String renderedPayload = this.timed(runContext, () -> runContext.render(this.payload).as(String.class).orElse(""));
+
+        return renderedPayload.isBlank() ? this.renderPayload(runContext) : renderedPayload;
+    }
+
+    /**
+     * Reports the time taken by {@code render} as {@code render.duration}, so that the metric covers the rendering of
+     * the payload only and not the metadata and user lookups made before it.
+     */
+    protected String timed(RunContext runContext, Rethrow.SupplierChecked<String, Exception> render) throws Exception {
+        long start = System.nanoTime();
+        String rendered = render.get();
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+        runContext.metric(Timer.of("render.duration", duration, "route", JiraUtil.route(URI.create(runContext.render(this.baseUrl) + this.route(runContext)))));
+
+        return rendered;
+    }
+
+    /**
+     * Builds the JSON payload from the task properties, through the payload template when there is one.
+     * The rendered template is sent as is, without being parsed and serialized again.
+     */
+    protected String renderPayload(RunContext runContext) throws Exception {
         Map<String, Object> renderedAttributesMap = new HashMap<>(Map.of("projectKey", runContext.render(projectKey)));
         runContext.render(this.summary).as(String.class).ifPresent(s -> renderedAttributesMap.put("summary", s));
 
@@ -85,20 +172,95 @@ public abstract class JiraTemplate extends JiraClient {
         if (runContext.render(description) != null) {
             renderedAttributesMap.put("description", runContext.render(description));
         }
-        runContext.render(this.issueTypeId).as(String.class).ifPresent(s -> renderedAttributesMap.put("issueTypeId", s));
+        var renderedIssueTypeId = runContext.render(this.issueTypeId).as(String.class);
+        var renderedIssueType = runContext.render(this.issueType).as(String.class);
+        var renderedAssignee = runContext.render(this.assignee).as(String.class).filter(s -> !s.isBlank());
+        var renderedReporter = runContext.render(this.reporter).as(String.class).filter(s -> !s.isBlank());
+        if (renderedIssueTypeId.isPresent()) {
+            renderedAttributesMap.put("issueTypeId", renderedIssueTypeId.get());
+        }
+        if ((renderedIssueTypeId.isEmpty() && renderedIssueType.isPresent()) || renderedAssignee.isPresent() || renderedReporter.isPresent()) {
+            try (JiraHttpClient client = this.httpClient(runContext)) {
+                if (renderedIssueTypeId.isEmpty() && renderedIssueType.isPresent()) {
+                    renderedAttributesMap.put("issueTypeId", this.resolveIssueTypeId(runContext, client, runContext.render(projectKey), renderedIssueType.get()));
+                }
+                if (renderedAssignee.isPresent()) {
+                    renderedAttributesMap.put("assigneeAccountId", this.resolveAccountId(runContext, client, renderedAssignee.get()));
+                }
+                if (renderedReporter.isPresent()) {
+                    renderedAttributesMap.put("reporterAccountId", this.resolveAccountId(runContext, client, renderedReporter.get()));
+                }
+            }
+        }
 
-        mainMap.put("fields", renderedAttributesMap);
-        var renderedTemplateUri = runContext.render(this.templateUri).as(String.class);
+        var renderedTemplateUri = this.renderTemplateUri(runContext);
         if (renderedTemplateUri.isPresent()) {
-            String template = IOUtils.toString(
-                Objects.requireNonNull(this.getClass().getClassLoader().getResourceAsStream(renderedTemplateUri.get())),
-                StandardCharsets.UTF_8
-            );
-            String render = runContext.render(template, renderedAttributesMap);
-            mainMap = (Map<String, Object>) JacksonMapper.ofJson().readValue(render, Object.class);
+            Map<String, Object> escapedAttributesMap = escape(renderedAttributesMap);
+            return this.timed(runContext, () -> PayloadTemplates.render(runContext, renderedTemplateUri.get(), escapedAttributesMap));
+        }
+
+        return this.timed(runContext, () -> JacksonMapper.ofJson().writeValueAsString(Map.of("fields", renderedAttributesMap)));
+    }
 
+    /**
+     * Escapes the free-text attributes for templates that place them inside JSON strings, since the rendered template
+     * is sent as is: a quote, backslash or line break in a summary or description would otherwise break the payload.
+     */
+    private static Map<String, Object> escape(Map<String, Object> attributes) throws IOException {
+        Map<String, Object> escaped = new HashMap<>(attributes);
+        for (String key : List.of("projectKey", "summary", "description")) {
+            if (attributes.get(key) instanceof String value) {
+                escaped.put(key, PayloadTemplates.jsonString(value));
+            }
         }
-        this.payload = Property.ofValue(JacksonMapper.ofJson().writeValueAsString(mainMap));
-        return super.run(runContext);
+        if (attributes.get("labels") instanceof List<?> labels) {
+            List<String> escapedLabels = new ArrayList<>();
+            for (Object label : labels) {
+                escapedLabels.add(PayloadTemplates.jsonString(String.valueOf(label)));
+            }
+            escaped.put("labels", escapedLabels);
+        }
+
+        return escaped;
+    }
+
+    protected Optional<String> renderTemplateUri(RunContext runContext) throws IllegalVariableEvaluationException {
+        return runContext.render(this.templateUri).as(String.class)
+            .or(() -> Optional.ofNullable(this.defaultTemplateUri()));
+    }
+
+    /**
+     * The bundled template used when {@code templateUri} is not set.
+     */
+    protected String defaultTemplateUri() {
+        return null;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "ID of the created Jira resource",
+            description = "Issue ID for `Create`, comment ID for `CreateComment`; empty when Jira returns no content."
+        )
+        private final String id;
+
+        @Schema(
+            title = "Key of the created issue",
+            description = "Only returned by `Create`, e.g. `PROJ-123`."
+        )
+        private final String key;
+
+        @Schema(title = "REST URL of the created Jira resource")
+        private final URI self;
+
+        @Schema(title = "Duration of the Jira request")
+        private final Duration duration;
+
+        @Schema(
+            title = "Whether an existing issue was returned instead of a new one",
+            description = "Only set by `Create` when `dedupMode` found an issue for the deduplication key."
+        )
+        private final Boolean duplicate;
     }
 }
@@ -0,0 +1,150 @@
+package io.kestra.plugin.jira.issues;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.utils.Rethrow;
+
+/**
+ * Worker-wide cache of Jira Cloud account ids, so that tasks can take users as email addresses or display names.
+ * <p>
+ * Users are looked up with {@code /rest/api/2/user/search}, keyed by base URL and query. Found users are cached for the
+ * TTL given by the caller and unknown users for at most {@link #NEGATIVE_TTL}, so that a typo does not query Jira on
+ * every run while a new colleague becomes assignable quickly. Concurrent lookups of the same user share a single request.
+ */
+final class JiraUsers {
+    // unknown users are looked up again after this delay, even with a longer metadata TTL
+    static final Duration NEGATIVE_TTL = Duration.ofMinutes(5);
+
+    // Jira Cloud account ids: 24 hex digits for older accounts, `<number>:<uuid>` for newer ones
+    private static final Pattern ACCOUNT_ID = Pattern.compile(
+        "[0-9a-f]{24}|\\d+:[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}"
+    );
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    // system fields holding users, accepted without the field metadata
+    private static final Set<String> USER_FIELDS = Set.of("assignee", "reporter");
+
+    // system fields holding text, never looked up as users
+    private static final Set<String> TEXT_FIELDS = Set.of("summary", "description", "environment");
+
+    private static final TtlCache<String, Optional<String>> ACCOUNT_IDS = new TtlCache<>(4096);
+
+    private JiraUsers() {
+    }
+
+    static boolean isAccountId(String value) {
+        return ACCOUNT_ID.matcher(value).matches();
+    }
+
+    /**
+     * The account id of a user given by account id, email address or display name.
+     *
+     * @param loader runs the user search for the (trimmed) user
+     */
+    static String accountId(String baseUrl, String user, Duration ttl, Callable<JsonNode> loader) throws Exception {
+        String query = user.trim();
+        if (isAccountId(query)) {
+            return query;
+        }
+
+        Duration negativeTtl = ttl.compareTo(NEGATIVE_TTL) < 0 ? ttl : NEGATIVE_TTL;
+
+        return ACCOUNT_IDS.get(
+                baseUrl + "|" + query.toLowerCase(Locale.ROOT),
+                found -> found.isPresent() ? ttl : negativeTtl,
+                () -> find(loader.call(), query)
+            )
+            .orElseThrow(() -> new IllegalArgumentException("No Jira user found for '" + query + "'"));
+    }
+
+    /**
+     * Picks the user matching the query in a user search response: the user with this email address, else the only
+     * user with this display name, else, for an email address, the only user returned. Several users with the same
+     * display name are an error, as assigning one of them at random would be worse than failing. A name is never
+     * matched to the only user returned, since Jira also returns users whose name only starts with it.
+     */
+    static Optional<String> find(JsonNode users, String query) {
+        List<JsonNode> candidates = new ArrayList<>();
+        if (users != null && users.isArray()) {
+            users.forEach(user -> {
+                if (user.hasNonNull("accountId")) {
+                    candidates.add(user);
+                }
+            });
+        }
+
+        for (JsonNode user : candidates) {
+            if (query.equalsIgnoreCase(user.path("emailAddress").asText(""))) {
+                return Optional.of(user.get("accountId").asText());
+            }
+        }
+
+        List<JsonNode> byName = candidates.stream()
+            .filter(user -> query.equalsIgnoreCase(user.path("displayName").asText("")))
+            .toList();
+        if (byName.size() > 1) {
+            throw new IllegalArgumentException("Several Jira users are named '" + query + "', use an email address or an account id");
+        }
+        if (byName.size() == 1) {
+            return Optional.of(byName.get(0).get("accountId").asText());
+        }
+
+        // Jira hides the email address of most users but still finds them by it
+        return candidates.size() == 1 && EMAIL.matcher(query).matches() ? Optional.of(candidates.get(0).get("accountId").asText()) : Optional.empty();
+    }
+
+    /**
+     * Whether some field values may be users given by email or display name, so that the field metadata is needed to
+     * know which of them are user fields.
+     */
+    static boolean mayHaveUsers(Map<String, Object> fields) {
+        return fields.entrySet().stream()
+            .filter(entry -> !TEXT_FIELDS.contains(entry.getKey()))
+            .anyMatch(entry -> entry.getValue() instanceof String || entry.getValue() instanceof Collection<?>);
+    }
+
+    /**
+     * Replaces the users given as strings in user fields, or lists of strings in multi-user fields, by
+     * {@code {"accountId": ...}} objects; other values are kept as they are.
+     *
+     * @param metadata the fields of the instance by id, empty when the keys are only system fields
+     */
+    static Map<String, Object> resolve(
+        Map<String, Object> fields,
+        Map<String, JiraMetadata.Field> metadata,
+        Rethrow.FunctionChecked<String, String, Exception> accountId
+    ) throws Exception {
+        Map<String, Object> resolved = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Object> entry : fields.entrySet()) {
+            JiraMetadata.Field field = metadata.get(entry.getKey());
+            boolean userField = USER_FIELDS.contains(entry.getKey()) || (field != null && "user".equals(field.type()));
+            boolean usersField = field != null && "array".equals(field.type()) && "user".equals(field.items());
+
+            Object value = entry.getValue();
+            if (userField && value instanceof String user) {
+                value = user(accountId.apply(user));
+            } else if (usersField && value instanceof Collection<?> users) {
+                List<Object> values = new ArrayList<>();
+                for (Object user : users) {
+                    values.add(user instanceof String string ? user(accountId.apply(string)) : user);
+                }
+                value = values;
+            }
+
+            resolved.put(entry.getKey(), value);
+        }
+
+        return resolved;
+    }
+
+    static Map<String, Object> user(String accountId) {
+        return Map.of("accountId", accountId);
+    }
+}
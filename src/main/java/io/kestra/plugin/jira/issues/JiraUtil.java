@@ -1,8 +1,181 @@
 package io.kestra.plugin.jira.issues;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+
+import reactor.core.publisher.Flux;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+import static io.kestra.core.utils.Rethrow.throwFunction;
+
 public class JiraUtil {
     public static final String ISSUE_API_ROUTE = "/rest/api/2/issue/";
 
     public static final String COMMENT_API_ROUTE = "/comment";
 
+    public static final String TRANSITIONS_API_ROUTE = "/transitions";
+
+    public static final String ATTACHMENTS_API_ROUTE = "/attachments";
+
+    public static final String ATTACHMENT_CONTENT_API_ROUTE = "/rest/api/2/attachment/content/";
+
+    public static final String CREATEMETA_API_ROUTE = "/rest/api/2/issue/createmeta/";
+
+    public static final String FIELD_API_ROUTE = "/rest/api/2/field";
+
+    public static final String BULK_ISSUE_API_ROUTE = "/rest/api/2/issue/bulk";
+
+    public static final String SEARCH_API_ROUTE = "/rest/api/2/search";
+
+    public static final String SEARCH_JQL_API_ROUTE = "/rest/api/2/search/jql";
+
+    public static final String USER_SEARCH_API_ROUTE = "/rest/api/2/user/search";
+
+    public static final String WORKLOG_UPDATED_API_ROUTE = "/rest/api/2/worklog/updated";
+
+    public static final String WORKLOG_DELETED_API_ROUTE = "/rest/api/2/worklog/deleted";
+
+    public static final String WORKLOG_LIST_API_ROUTE = "/rest/api/2/worklog/list";
+
+    private static final Set<String> ISSUE_SUB_ROUTES = Set.of("bulk", "createmeta", "picker", "properties");
+
+    private static final Pattern NUMERIC = Pattern.compile("\\d+");
+
+    /**
+     * Format of the date-times returned by the Jira REST API, e.g. {@code 2024-01-15T10:22:33.123+0100}.
+     */
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
+    /**
+     * Format of the date-times accepted in JQL, always interpreted in the time zone of the Jira user.
+     */
+    public static final DateTimeFormatter JQL_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    /**
+     * Reads the rows of a batch task, either from an inline list of maps (rendered) or from an ION / JSONL file
+     * stored in Kestra internal storage (streamed, never loaded in memory).
+     */
+    @SuppressWarnings("unchecked")
+    public static Flux<Map<String, Object>> readRows(RunContext runContext, Object from) throws IllegalVariableEvaluationException {
+        if (from instanceof String fromUri) {
+            URI uri = URI.create(runContext.render(fromUri));
+
+            return Flux.using(
+                () -> new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri), StandardCharsets.UTF_8)),
+                reader -> FileSerde.readAll(reader).map(row -> (Map<String, Object>) row),
+                throwConsumer(BufferedReader::close)
+            );
+        }
+
+        if (from instanceof List<?> fromList) {
+            return Flux.fromIterable(fromList)
+                .map(throwFunction(row -> runContext.render((Map<String, Object>) row)));
+        }
+
+        throw new IllegalArgumentException("Invalid 'from' property, must be an internal storage URI or a list of maps, got: " + from);
+    }
+
+    /**
+     * Scheme and host of a Jira URL, which identify the server whatever path follows them.
+     */
+    public static String origin(String url) {
+        URI uri = URI.create(url);
+
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * The REST route of a request URI, used as a metric tag: the part of the path starting at {@code /rest/},
+     * with issue keys, project keys and numeric ids replaced by placeholders so that the number of distinct tags stays small,
+     * e.g. {@code /rest/api/2/issue/{issueIdOrKey}/comment}.
+     */
+    public static String route(URI uri) {
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        int rest = path.indexOf("/rest/");
+        if (rest < 0) {
+            return path.isEmpty() ? "/" : path;
+        }
+
+        String[] segments = path.substring(rest + 1).split("/");
+        StringBuilder route = new StringBuilder();
+
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            String previous = i > 0 ? segments[i - 1] : "";
+
+            if (previous.equals("issue") && !ISSUE_SUB_ROUTES.contains(segment)) {
+                segment = "{issueIdOrKey}";
+            } else if (previous.equals("createmeta") || previous.equals("project")) {
+                segment = "{projectIdOrKey}";
+            } else if (NUMERIC.matcher(segment).matches() && !previous.equals("api")) {
+                segment = "{id}";
+            }
+
+            route.append('/').append(segment);
+        }
+
+        return route.toString();
+    }
+
+    /**
+     * Hex-encoded SHA-256 of the value, used for in-memory cache keys holding credentials or large contents.
+     */
+    public static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Streams a JSON object and keeps only the requested top-level scalar fields, skipping everything else without
+     * building a tree. Returns an empty map for an empty body (e.g. a 204 response).
+     */
+    public static Map<String, String> readFields(InputStream inputStream, Set<String> names) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        if (inputStream == null) {
+            return fields;
+        }
+
+        try (JsonParser parser = JacksonMapper.ofJson().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return fields;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (names.contains(name) && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                    fields.put(name, parser.getValueAsString());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return fields;
+    }
 }
@@ -0,0 +1,158 @@
+package io.kestra.plugin.jira.issues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A small JQL-like predicate evaluated against a Jira webhook event, e.g.
+ * {@code issuetype = Bug AND priority in (High, Highest) AND labels != ignore}.
+ * <p>
+ * Clauses are joined with {@code AND}, which is ignored inside quoted values; supported operators are {@code =}, {@code !=}, {@code ~} (contains),
+ * {@code in (...)} and {@code not in (...)}. Fields are read from {@code issue.fields} unless they are {@code key},
+ * {@code project} or an absolute path starting with {@code issue.}, {@code comment.}, {@code user.} or
+ * {@code changelog.}. Comparisons are case-insensitive; objects are compared through their {@code key}, {@code name},
+ * {@code value} or {@code displayName}, and arrays match when any element matches.
+ */
+final class JqlPredicate {
+    private static final Pattern CLAUSE = Pattern.compile(
+        "^\\s*([\\w.]+)\\s*(!=|=|~|(?i:not\\s+in)|(?i:in))\\s*(\\(.*\\)|\"[^\"]*\"|'[^']*'|\\S+)\\s*$"
+    );
+
+    private static final Pattern AND = Pattern.compile("\\s+(?i:and)\\s+");
+
+    private static final Pattern COMMA = Pattern.compile(",");
+
+    private static final List<String> ABSOLUTE_ROOTS = List.of("issue.", "comment.", "user.", "changelog.");
+
+    private final List<Clause> clauses;
+
+    private JqlPredicate(List<Clause> clauses) {
+        this.clauses = clauses;
+    }
+
+    static JqlPredicate parse(String predicate) {
+        List<Clause> clauses = new ArrayList<>();
+
+        for (String part : split(predicate.trim(), AND)) {
+            Matcher matcher = CLAUSE.matcher(part);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid filter clause '" + part + "'");
+            }
+
+            String operator = matcher.group(2).toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+            String value = matcher.group(3);
+
+            List<String> values = new ArrayList<>();
+            if (value.startsWith("(")) {
+                for (String item : split(value.substring(1, value.length() - 1), COMMA)) {
+                    values.add(unquote(item.trim()));
+                }
+            } else {
+                values.add(unquote(value));
+            }
+
+            clauses.add(new Clause(matcher.group(1), operator, values));
+        }
+
+        return new JqlPredicate(clauses);
+    }
+
+    boolean test(JsonNode event) {
+        return this.clauses.stream().allMatch(clause -> clause.test(event));
+    }
+
+    /**
+     * Splits on the separator, except inside single or double quotes, so that {@code summary ~ "black and white"} or
+     * {@code labels in ("a,b")} keep their value whole.
+     */
+    static List<String> split(String value, Pattern separator) {
+        List<String> parts = new ArrayList<>();
+        Matcher matcher = separator.matcher(value);
+        int start = 0;
+
+        while (matcher.find()) {
+            if (!quoted(value, matcher.start())) {
+                parts.add(value.substring(start, matcher.start()));
+                start = matcher.end();
+            }
+        }
+        parts.add(value.substring(start));
+
+        return parts;
+    }
+
+    private static boolean quoted(String value, int end) {
+        char quote = 0;
+        for (int i = 0; i < end; i++) {
+            char c = value.charAt(i);
+            if (quote == 0 && (c == '"' || c == '\'')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            }
+        }
+
+        return quote != 0;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"") || value.startsWith("'") && value.endsWith("'"))) {
+            return value.substring(1, value.length() - 1);
+        }
+
+        return value;
+    }
+
+    private record Clause(String field, String operator, List<String> values) {
+        boolean test(JsonNode event) {
+            List<String> actual = new ArrayList<>();
+            collect(resolve(event, this.field), actual);
+
+            boolean matches = switch (this.operator) {
+                case "~" -> actual.stream().anyMatch(a -> a.contains(this.values.get(0).toLowerCase(Locale.ROOT)));
+                default -> actual.stream().anyMatch(a -> this.values.stream().anyMatch(v -> v.toLowerCase(Locale.ROOT).equals(a)));
+            };
+
+            return this.operator.equals("!=") || this.operator.equals("not in") ? !matches : matches;
+        }
+
+        private static JsonNode resolve(JsonNode event, String field) {
+            String path;
+            if (field.equals("key")) {
+                path = "issue.key";
+            } else if (field.equals("project")) {
+                path = "issue.fields.project";
+            } else if (ABSOLUTE_ROOTS.stream().anyMatch(field::startsWith)) {
+                path = field;
+            } else {
+                path = "issue.fields." + field;
+            }
+
+            JsonNode node = event;
+            for (String part : path.split("\\.")) {
+                node = node.path(part);
+            }
+
+            return node;
+        }
+
+        private static void collect(JsonNode node, List<String> values) {
+            if (node.isArray()) {
+                node.forEach(element -> collect(element, values));
+            } else if (node.isObject()) {
+                for (String name : List.of("key", "name", "value", "displayName")) {
+                    if (node.hasNonNull(name)) {
+                        values.add(node.get(name).asText().toLowerCase(Locale.ROOT));
+                    }
+                }
+            } else if (!node.isMissingNode() && !node.isNull()) {
+                values.add(node.asText().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+}
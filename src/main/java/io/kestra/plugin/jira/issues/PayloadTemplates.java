@@ -0,0 +1,66 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Loads the Pebble templates used to build Jira payloads.
+ * <p>
+ * Bundled templates are read from the plugin classpath once per classloader. Templates stored as namespace files
+ * ({@code nsfile://}) or in internal storage ({@code kestra://}) are read on each run, since they can change. Either
+ * way, the same template source is handed to the renderer on every run, so the compiled template is served by Kestra's
+ * template cache instead of being parsed again.
+ */
+final class PayloadTemplates {
+    private static final Map<String, String> BUNDLED = new ConcurrentHashMap<>();
+
+    private PayloadTemplates() {
+    }
+
+    static String render(RunContext runContext, String templateUri, Map<String, Object> variables) throws IllegalVariableEvaluationException, IOException {
+        return runContext.render(load(runContext, templateUri), variables);
+    }
+
+    static String load(RunContext runContext, String templateUri) throws IOException {
+        if (templateUri.startsWith("nsfile://") || templateUri.startsWith("kestra://")) {
+            try (InputStream inputStream = runContext.storage().getFile(URI.create(templateUri))) {
+                return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+            }
+        }
+
+        try {
+            return BUNDLED.computeIfAbsent(templateUri, PayloadTemplates::loadBundled);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Escapes a value for a template that places it inside a JSON string, such as {@code "body": "{{ body }}"}.
+     */
+    static String jsonString(String value) throws IOException {
+        String quoted = JacksonMapper.ofJson().writeValueAsString(value);
+
+        return quoted.substring(1, quoted.length() - 1);
+    }
+
+    private static String loadBundled(String path) {
+        try (InputStream inputStream = PayloadTemplates.class.getClassLoader().getResourceAsStream(path)) {
+            return IOUtils.toString(Objects.requireNonNull(inputStream, "Unknown template '" + path + "'"), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
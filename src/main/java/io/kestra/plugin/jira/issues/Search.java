@@ -0,0 +1,376 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.Rethrow;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+import static io.kestra.plugin.jira.issues.JiraUtil.SEARCH_API_ROUTE;
+import static io.kestra.plugin.jira.issues.JiraUtil.SEARCH_JQL_API_ROUTE;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Search Jira issues with JQL",
+    description = "Pages through the Jira search API and streams each issue as it is parsed, so memory stays flat whatever the number of matching issues. " +
+        "Uses the token-based `/rest/api/2/search/jql` endpoint by default, or the offset-based `/rest/api/2/search` endpoint for Jira Server / Data Center. " +
+        "With `fetchType: STORE` (default) issues are written to an ION file in internal storage."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Store all open bugs of a project in internal storage.",
+            full = true,
+            code = """
+                id: jira_search
+                namespace: company.team
+
+                tasks:
+                  - id: search
+                    type: io.kestra.plugin.jira.issues.Search
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    jql: "project = MYPROJECT AND issuetype = Bug AND statusCategory != Done ORDER BY created DESC"
+                    fields:
+                      - summary
+                      - status
+                      - assignee
+                    fetchType: STORE
+                """
+        ),
+        @Example(
+            title = "Fetch the most recently updated issue of a project.",
+            full = true,
+            code = """
+                id: jira_search_one
+                namespace: company.team
+
+                tasks:
+                  - id: last_updated
+                    type: io.kestra.plugin.jira.issues.Search
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    jql: "project = MYPROJECT ORDER BY updated DESC"
+                    fetchType: FETCH_ONE
+                """
+        )
+    }
+)
+public class Search extends JiraClient implements RunnableTask<Search.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    @Schema(
+        title = "JQL query",
+        description = "Rendered JQL selecting the issues to return; add an `ORDER BY` clause for a stable order."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    private Property<String> jql;
+
+    @Schema(
+        title = "Fields to return",
+        description = "Projection applied by Jira, e.g. `summary`, `status`, `customfield_10005`. Defaults to Jira's navigable fields when empty; use `*all` for every field."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> fields;
+
+    @Schema(
+        title = "Entities to expand",
+        description = "Jira expand options such as `renderedFields`, `names` or `changelog`."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<List<String>> expand;
+
+    @Schema(
+        title = "Maximum number of issues to return",
+        description = "Stops paging once this number of issues has been fetched; no limit when not set."
+    )
+    @PluginProperty(group = "main")
+    @Min(1)
+    private Property<Integer> maxResults;
+
+    @Schema(
+        title = "Number of issues requested per page"
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Max(5000)
+    @Builder.Default
+    private Property<Integer> pageSize = Property.ofValue(100);
+
+    @Schema(
+        title = "Pagination mode",
+        description = "`TOKEN` uses `/rest/api/2/search/jql` with `nextPageToken` (Jira Cloud); `OFFSET` uses `/rest/api/2/search` with `startAt` (Jira Server / Data Center)."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Pagination> pagination = Property.ofValue(Pagination.TOKEN);
+
+    @Schema(
+        title = "How to return the issues",
+        description = "`FETCH_ONE` outputs the first issue, `FETCH` outputs all issues in memory, `STORE` writes them to an ION file in internal storage, `NONE` only counts them."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    @Builder.Default
+    private Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.STORE);
+        Output.OutputBuilder output = Output.builder();
+        long size;
+
+        switch (rFetchType) {
+            case FETCH_ONE -> {
+                AtomicReference<Map<String, Object>> row = new AtomicReference<>();
+                size = this.fetch(runContext, 1, issue -> row.compareAndSet(null, issue));
+                output.row(row.get());
+            }
+            case FETCH -> {
+                List<Map<String, Object>> rows = new ArrayList<>();
+                size = this.fetch(runContext, null, rows::add);
+                output.rows(rows);
+            }
+            case STORE -> {
+                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+                try (OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+                    size = this.fetch(runContext, null, issue -> FileSerde.write(fileOutput, issue));
+                }
+                output.uri(runContext.storage().putFile(tempFile));
+            }
+            default -> size = this.fetch(runContext, null, issue -> {});
+        }
+
+        runContext.metric(Counter.of("records", size));
+
+        return output.size(size).build();
+    }
+
+    /**
+     * A search with the connection of another Jira task, used by tasks that select issues with JQL.
+     */
+    static SearchBuilder<?, ?> of(JiraClient task) {
+        return Search.builder()
+            .id(task.getId())
+            .type(Search.class.getName())
+            .baseUrl(task.getBaseUrl())
+            .username(task.getUsername())
+            .password(task.getPassword())
+            .accessToken(task.getAccessToken())
+            .clientId(task.getClientId())
+            .clientSecret(task.getClientSecret())
+            .refreshToken(task.getRefreshToken())
+            .storeRotatedRefreshToken(task.getStoreRotatedRefreshToken())
+            .tokenUrl(task.getTokenUrl())
+            .scopes(task.getScopes())
+            .options(task.getOptions())
+            .reuseConnections(task.getReuseConnections())
+            .rateLimit(task.getRateLimit())
+            .maxRetries(task.getMaxRetries())
+            .retryBudget(task.getRetryBudget())
+            .metadataTtl(task.getMetadataTtl())
+            .circuitBreaker(task.getCircuitBreaker())
+            .circuitBreakerOpenDuration(task.getCircuitBreakerOpenDuration())
+            .circuitBreakerSlowCallDuration(task.getCircuitBreakerSlowCallDuration());
+    }
+
+    /**
+     * Pages through the search results and hands every issue to the sink as soon as it is parsed from the response,
+     * without keeping the page in memory.
+     *
+     * @param limit an additional cap on the number of issues, on top of {@code maxResults}; may be null
+     * @return the number of issues passed to the sink
+     */
+    long fetch(RunContext runContext, Integer limit, Rethrow.ConsumerChecked<Map<String, Object>, Exception> sink) throws Exception {
+        return this.fetchAccepted(runContext, limit, issue -> {
+            sink.accept(issue);
+            return true;
+        });
+    }
+
+    /**
+     * Like {@link #fetch(RunContext, Integer, Rethrow.ConsumerChecked)}, but only the issues the sink accepts count
+     * towards {@code maxResults} and {@code limit}, so that a caller skipping the issues it already saw keeps paging
+     * past them.
+     *
+     * @return the number of issues accepted by the sink
+     */
+    long fetchAccepted(RunContext runContext, Integer limit, Rethrow.FunctionChecked<Map<String, Object>, Boolean, Exception> sink) throws Exception {
+        String rJql = runContext.render(this.jql).as(String.class).orElseThrow();
+        List<String> rFields = runContext.render(this.fields).asList(String.class);
+        List<String> rExpand = runContext.render(this.expand).asList(String.class);
+        int rPageSize = runContext.render(this.pageSize).as(Integer.class).orElse(100);
+        Pagination rPagination = runContext.render(this.pagination).as(Pagination.class).orElse(Pagination.TOKEN);
+
+        Integer cap = runContext.render(this.maxResults).as(Integer.class).orElse(null);
+        if (limit != null) {
+            cap = cap == null ? limit : Math.min(cap, limit);
+        }
+
+        URI uri = URI.create(runContext.render(this.baseUrl) + (rPagination == Pagination.TOKEN ? SEARCH_JQL_API_ROUTE : SEARCH_API_ROUTE));
+
+        long fetched = 0;
+        long accepted = 0;
+        String nextPageToken = null;
+
+        try (JiraHttpClient client = this.httpClient(runContext)) {
+            while (cap == null || accepted < cap) {
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("jql", rJql);
+                body.put("maxResults", cap == null ? rPageSize : (int) Math.min(rPageSize, cap - accepted));
+                if (!rFields.isEmpty()) {
+                    body.put("fields", rFields);
+                }
+
+                if (rPagination == Pagination.TOKEN) {
+                    if (!rExpand.isEmpty()) {
+                        body.put("expand", String.join(",", rExpand));
+                    }
+                    if (nextPageToken != null) {
+                        body.put("nextPageToken", nextPageToken);
+                    }
+                } else {
+                    if (!rExpand.isEmpty()) {
+                        body.put("expand", rExpand);
+                    }
+                    body.put("startAt", fetched);
+                }
+
+                HttpRequest request = this.authorizedRequest(runContext, "POST", uri)
+                    .body(HttpRequest.StringRequestBody.builder().content(MAPPER.writeValueAsString(body)).build())
+                    .build();
+
+                AtomicReference<Page> page = new AtomicReference<>();
+                client.request(request, throwConsumer(response -> page.set(readPage(response.getBody(), sink))));
+
+                fetched += page.get().count();
+                accepted += page.get().accepted();
+                runContext.logger().debug("Fetched {} issues so far", fetched);
+
+                if (page.get().count() == 0 || page.get().isLast(rPagination, fetched)) {
+                    break;
+                }
+                nextPageToken = page.get().nextPageToken();
+            }
+        }
+
+        return accepted;
+    }
+
+    private static Page readPage(InputStream inputStream, Rethrow.FunctionChecked<Map<String, Object>, Boolean, Exception> sink) throws Exception {
+        int count = 0;
+        int accepted = 0;
+        String nextPageToken = null;
+        Boolean isLast = null;
+        Long total = null;
+
+        try (JsonParser parser = MAPPER.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Invalid Jira search response, expected a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+
+                switch (name) {
+                    case "issues" -> {
+                        if (parser.currentToken() != JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            if (sink.apply(parser.readValueAs(MAP_TYPE))) {
+                                accepted++;
+                            }
+                            count++;
+                        }
+                    }
+                    case "nextPageToken" -> nextPageToken = parser.getValueAsString();
+                    case "isLast" -> isLast = parser.getValueAsBoolean();
+                    case "total" -> total = parser.getValueAsLong();
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        return new Page(count, accepted, nextPageToken, isLast, total);
+    }
+
+    private record Page(int count, int accepted, String nextPageToken, Boolean isLast, Long total) {
+        boolean isLast(Pagination pagination, long fetched) {
+            if (pagination == Pagination.TOKEN) {
+                return nextPageToken == null || Boolean.TRUE.equals(isLast);
+            }
+
+            return total != null && fetched >= total;
+        }
+    }
+
+    public enum Pagination {
+        TOKEN,
+        OFFSET
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "List of issues",
+            description = "Only populated when `fetchType` is `FETCH`."
+        )
+        private final List<Map<String, Object>> rows;
+
+        @Schema(
+            title = "First issue",
+            description = "Only populated when `fetchType` is `FETCH_ONE`."
+        )
+        private final Map<String, Object> row;
+
+        @Schema(
+            title = "URI of the ION file holding the issues",
+            description = "Only populated when `fetchType` is `STORE`."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of issues fetched")
+        private final Long size;
+    }
+}
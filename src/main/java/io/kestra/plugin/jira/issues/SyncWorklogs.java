@@ -0,0 +1,434 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.core.utils.Rethrow;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+import static io.kestra.plugin.jira.issues.JiraUtil.WORKLOG_DELETED_API_ROUTE;
+import static io.kestra.plugin.jira.issues.JiraUtil.WORKLOG_LIST_API_ROUTE;
+import static io.kestra.plugin.jira.issues.JiraUtil.WORKLOG_UPDATED_API_ROUTE;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Sync the Jira worklogs changed since the previous run",
+    description = "Asks `/rest/api/2/worklog/updated` and `/rest/api/2/worklog/deleted` for the worklogs changed since the watermark saved by the previous run, " +
+        "fetches the updated worklogs with `/rest/api/2/worklog/list` by batches of up to 1000 as the change pages come in, and streams them to an ION file of upserts and deletes keyed by worklog id. " +
+        "The number of requests depends on the number of changes, not on the number of issues. The watermark is kept in the flow namespace KV store and, by default, saved as soon as the task succeeds, " +
+        "so the changes of a run whose downstream tasks fail are not fetched again. Set `commitWatermark: false` and save the `watermark` output under `watermarkKey` once the changes are applied to get them again after a failure instead."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Load the worklogs changed in the last hour into a billing database.",
+            full = true,
+            code = """
+                id: jira_worklogs
+                namespace: company.team
+
+                triggers:
+                  - id: hourly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 * * * *"
+
+                tasks:
+                  - id: sync
+                    type: io.kestra.plugin.jira.issues.SyncWorklogs
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    since: "2024-01-01T00:00:00Z"
+
+                  - id: apply
+                    type: io.kestra.plugin.core.flow.ForEachItem
+                    items: "{{ outputs.sync.uri }}"
+                    batch:
+                      rows: 500
+                    namespace: company.team
+                    flowId: apply_worklogs
+                    inputs:
+                      changes: "{{ taskrun.items }}"
+                """
+        ),
+        @Example(
+            title = "Save the watermark only once the changes are applied, so that a failed load is synced again by the next run.",
+            full = true,
+            code = """
+                id: jira_worklogs
+                namespace: company.team
+
+                triggers:
+                  - id: hourly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 * * * *"
+
+                tasks:
+                  - id: sync
+                    type: io.kestra.plugin.jira.issues.SyncWorklogs
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    commitWatermark: false
+
+                  - id: apply
+                    type: io.kestra.plugin.core.flow.ForEachItem
+                    items: "{{ outputs.sync.uri }}"
+                    batch:
+                      rows: 500
+                    namespace: company.team
+                    flowId: apply_worklogs
+                    inputs:
+                      changes: "{{ taskrun.items }}"
+
+                  - id: commit
+                    type: io.kestra.plugin.core.kv.Set
+                    key: "{{ outputs.sync.watermarkKey }}"
+                    value: "{{ outputs.sync.watermark }}"
+                    kvType: JSON
+                """
+        )
+    }
+)
+public class SyncWorklogs extends JiraClient implements RunnableTask<SyncWorklogs.Output> {
+    private static final String WATERMARK_KV_PREFIX = "jira-worklogs-";
+
+    // maximum number of ids accepted by /worklog/list, also the page size of /worklog/updated
+    static final int MAX_LIST_SIZE = 1000;
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    @Schema(
+        title = "Start of the first sync",
+        description = "ISO 8601 date-time from which worklog changes are synced when no watermark has been saved yet, e.g. `2024-01-01T00:00:00Z`. " +
+            "Defaults to the beginning, which lists every worklog of the instance on the first run."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> since;
+
+    @Schema(
+        title = "Name of the saved watermark",
+        description = "Defaults to the flow and task ids. Set it to share a watermark between flows, or change it to start over from `since`."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> stateKey;
+
+    @Schema(
+        title = "Sync deleted worklogs",
+        description = "When enabled, worklogs deleted since the watermark are written as `DELETE` rows."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Boolean> includeDeleted = Property.ofValue(true);
+
+    @Schema(
+        title = "Save the watermark when the task succeeds",
+        description = "When disabled, the task leaves the saved watermark untouched and the next run syncs the same changes again, " +
+            "until a later task saves the `watermark` output under `watermarkKey` in the flow namespace KV store, e.g. with `io.kestra.plugin.core.kv.Set` and `kvType: JSON`."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Boolean> commitWatermark = Property.ofValue(true);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String rBaseUrl = runContext.render(this.baseUrl);
+        boolean rIncludeDeleted = runContext.render(this.includeDeleted).as(Boolean.class).orElse(true);
+        boolean rCommitWatermark = runContext.render(this.commitWatermark).as(Boolean.class).orElse(true);
+        String rStateKey = runContext.render(this.stateKey).as(String.class)
+            .orElse(runContext.flowInfo().id() + "-" + this.getId());
+
+        KVStore kvStore = runContext.namespaceKv(runContext.flowInfo().namespace());
+        String kvKey = WATERMARK_KV_PREFIX + rStateKey;
+        Watermark watermark = kvStore.getValue(kvKey)
+            .map(KVValue::value)
+            .map(Watermark::of)
+            .orElse(null);
+
+        if (watermark == null) {
+            long start = runContext.render(this.since).as(String.class)
+                .map(value -> OffsetDateTime.parse(value).toInstant().toEpochMilli())
+                .orElse(0L);
+            watermark = new Watermark(start, start);
+        }
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        AtomicLong upserted = new AtomicLong();
+        AtomicLong deleted = new AtomicLong();
+        long updatedUntil;
+        long deletedUntil = watermark.deleted();
+
+        try (
+            JiraHttpClient client = this.httpClient(runContext);
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)
+        ) {
+            updatedUntil = this.changes(runContext, client, rBaseUrl + WORKLOG_UPDATED_API_ROUTE, watermark.updated(), page -> {
+                if (!page.ids().isEmpty()) {
+                    this.list(runContext, client, URI.create(rBaseUrl + WORKLOG_LIST_API_ROUTE), page.ids(), worklog -> {
+                        FileSerde.write(output, upsert(worklog));
+                        upserted.incrementAndGet();
+                    });
+                }
+            });
+
+            if (rIncludeDeleted) {
+                deletedUntil = this.changes(runContext, client, rBaseUrl + WORKLOG_DELETED_API_ROUTE, watermark.deleted(), page -> {
+                    for (Change change : page.changes()) {
+                        FileSerde.write(output, delete(change));
+                        deleted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        // the change file is stored first, a watermark saved before it would skip these changes if the upload failed
+        URI uri = runContext.storage().putFile(tempFile);
+
+        Watermark next = new Watermark(updatedUntil, deletedUntil);
+        if (rCommitWatermark) {
+            kvStore.put(kvKey, new KVValueAndMetadata(
+                new KVMetadata("Watermark of the Jira worklog sync " + rStateKey, (Duration) null),
+                next.toMap()
+            ));
+        }
+
+        runContext.metric(Counter.of("upserted", upserted.get()));
+        runContext.metric(Counter.of("deleted", deleted.get()));
+        runContext.logger().info(
+            "Synced {} updated and {} deleted worklog(s) since {}",
+            upserted.get(),
+            deleted.get(),
+            Instant.ofEpochMilli(watermark.updated())
+        );
+
+        return Output.builder()
+            .uri(uri)
+            .upserted(upserted.get())
+            .deleted(deleted.get())
+            .until(Instant.ofEpochMilli(next.updated()))
+            .watermark(next.toMap())
+            .watermarkKey(kvKey)
+            .build();
+    }
+
+    /**
+     * Pages through a worklog change feed starting at {@code since} and hands every page to the consumer.
+     *
+     * @return the {@code until} of the last page, where the next sync starts
+     */
+    private long changes(
+        RunContext runContext,
+        JiraHttpClient client,
+        String uri,
+        long since,
+        Rethrow.ConsumerChecked<ChangePage, Exception> consumer
+    ) throws Exception {
+        long cursor = since;
+
+        while (true) {
+            ChangePage page = ChangePage.of(this.getJson(runContext, client, uri + "?since=" + cursor));
+            consumer.accept(page);
+            runContext.logger().debug("Read {} worklog change(s) from {} until {}", page.changes().size(), uri, Instant.ofEpochMilli(page.until()));
+
+            if (page.lastPage()) {
+                return Math.max(page.until(), cursor);
+            }
+
+            if (page.until() <= cursor) {
+                throw new IllegalStateException("The worklog change feed " + uri + " did not move past " + cursor);
+            }
+            cursor = page.until();
+        }
+    }
+
+    /**
+     * Fetches the worklogs of the given ids, handing every worklog to the sink as soon as it is parsed from the response.
+     */
+    private void list(
+        RunContext runContext,
+        JiraHttpClient client,
+        URI uri,
+        List<Long> ids,
+        Rethrow.ConsumerChecked<Map<String, Object>, Exception> sink
+    ) throws Exception {
+        for (int from = 0; from < ids.size(); from += MAX_LIST_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + MAX_LIST_SIZE, ids.size()));
+
+            HttpRequest request = this.authorizedRequest(runContext, "POST", uri)
+                .body(HttpRequest.StringRequestBody.builder().content(MAPPER.writeValueAsString(Map.of("ids", batch))).build())
+                .build();
+
+            client.request(request, throwConsumer(response -> readWorklogs(response.getBody(), sink)));
+        }
+    }
+
+    static int readWorklogs(InputStream inputStream, Rethrow.ConsumerChecked<Map<String, Object>, Exception> sink) throws Exception {
+        int count = 0;
+
+        try (JsonParser parser = MAPPER.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Invalid Jira worklog list response, expected a JSON array");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                sink.accept(parser.readValueAs(MAP_TYPE));
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    static Map<String, Object> upsert(Map<String, Object> worklog) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("operation", Operation.UPSERT.name());
+        row.put("id", String.valueOf(worklog.get("id")));
+        row.put("issueId", worklog.get("issueId") == null ? null : String.valueOf(worklog.get("issueId")));
+        row.put("worklog", worklog);
+
+        return row;
+    }
+
+    static Map<String, Object> delete(Change change) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("operation", Operation.DELETE.name());
+        row.put("id", String.valueOf(change.worklogId()));
+        row.put("deleted", Instant.ofEpochMilli(change.updatedTime()));
+
+        return row;
+    }
+
+    /**
+     * A worklog id returned by the change feeds, with the time it was updated or deleted.
+     */
+    record Change(long worklogId, long updatedTime) {}
+
+    /**
+     * A page of {@code /worklog/updated} or {@code /worklog/deleted}: up to 1000 changes, the time up to which the
+     * changes are complete, and whether more pages follow.
+     */
+    record ChangePage(List<Change> changes, long until, boolean lastPage) {
+        static ChangePage of(JsonNode response) {
+            if (response == null || !response.isObject()) {
+                throw new IllegalStateException("Invalid Jira worklog change response, expected a JSON object");
+            }
+
+            List<Change> changes = new ArrayList<>();
+            for (JsonNode value : response.path("values")) {
+                if (value.hasNonNull("worklogId")) {
+                    changes.add(new Change(value.get("worklogId").asLong(), value.path("updatedTime").asLong()));
+                }
+            }
+
+            return new ChangePage(changes, response.path("until").asLong(), response.path("lastPage").asBoolean(true));
+        }
+
+        List<Long> ids() {
+            return this.changes.stream().map(Change::worklogId).toList();
+        }
+    }
+
+    /**
+     * Epoch milliseconds up to which the updated and the deleted worklogs were synced.
+     */
+    record Watermark(long updated, long deleted) {
+        static Watermark of(Object value) {
+            if (value instanceof String json) {
+                // saved by a later task rather than by this one
+                try {
+                    value = JacksonMapper.toMap(json);
+                } catch (Exception e) {
+                    return null;
+                }
+            }
+
+            if (!(value instanceof Map<?, ?> map) || !(map.get("updated") instanceof Number updated)) {
+                return null;
+            }
+
+            return new Watermark(
+                updated.longValue(),
+                map.get("deleted") instanceof Number deleted ? deleted.longValue() : updated.longValue()
+            );
+        }
+
+        Map<String, Object> toMap() {
+            return Map.of("updated", this.updated, "deleted", this.deleted);
+        }
+    }
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of the change file",
+            description = "ION file with one row per change: `operation` (`UPSERT` or `DELETE`), the worklog `id`, and the `issueId` and full `worklog` for upserts. Upserts come before deletes."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of updated or created worklogs")
+        private final Long upserted;
+
+        @Schema(title = "Number of deleted worklogs")
+        private final Long deleted;
+
+        @Schema(
+            title = "Time up to which worklog updates are synced",
+            description = "The next run starts from here; Jira leaves out the changes of the last minute, so it lags slightly behind the run date."
+        )
+        private final Instant until;
+
+        @Schema(
+            title = "Watermark reached by this run",
+            description = "Saved by the task unless `commitWatermark` is disabled; save it under `watermarkKey` to commit it from a later task."
+        )
+        private final Map<String, Object> watermark;
+
+        @Schema(title = "Key of the watermark in the flow namespace KV store")
+        private final String watermarkKey;
+    }
+}
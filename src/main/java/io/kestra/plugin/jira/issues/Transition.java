@@ -0,0 +1,372 @@
+package io.kestra.plugin.jira.issues;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.client.HttpClientResponseException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import static io.kestra.plugin.jira.issues.JiraUtil.ISSUE_API_ROUTE;
+import static io.kestra.plugin.jira.issues.JiraUtil.TRANSITIONS_API_ROUTE;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Move Jira issues to another status",
+    description = "Posts to `/rest/api/2/issue/{issueIdOrKey}/transitions` the transition leading to `status`, optionally setting `fields` and adding a `comment` in the same call. " +
+        "With several issues, their project and issue type are read with one search, and transition ids are cached per base URL, project, issue type and status for `cacheTtl` and shared by all the tasks of the worker, " +
+        "so the available transitions of a workflow are only listed once instead of before every issue; a cached id rejected by Jira is looked up again for that issue and replaces the cached one. " +
+        "A single issue is transitioned with one lookup of its available transitions, which costs no more than the search a cached id would need. " +
+        "Set `issueIdOrKeys` to transition many issues with bounded concurrency."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Resolve an issue with a resolution and a comment.",
+            full = true,
+            code = """
+                id: jira_resolve
+                namespace: company.team
+
+                tasks:
+                  - id: resolve
+                    type: io.kestra.plugin.jira.issues.Transition
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    issueIdOrKey: PROJ-42
+                    status: Done
+                    fields:
+                      resolution:
+                        name: Fixed
+                    comment: "Fixed by execution {{ execution.id }}"
+                """
+        ),
+        @Example(
+            title = "Close every resolved issue returned by a search.",
+            full = true,
+            code = """
+                id: jira_nightly_close
+                namespace: company.team
+
+                tasks:
+                  - id: resolved
+                    type: io.kestra.plugin.jira.issues.Search
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    jql: "project = PROJ AND status = Resolved AND resolved <= -14d"
+                    fields:
+                      - key
+                    fetchType: FETCH
+
+                  - id: close
+                    type: io.kestra.plugin.jira.issues.Transition
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    issueIdOrKeys: "{{ outputs.resolved.rows | jq('.[].key') }}"
+                    status: Closed
+                    concurrency: 8
+                """
+        )
+    }
+)
+public class Transition extends JiraClient implements RunnableTask<Transition.Output> {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    // transition ids by base URL, project id, issue type id and target status, shared by all the tasks of the worker
+    private static final TtlCache<String, String> TRANSITIONS = new TtlCache<>(1024);
+
+    @Schema(
+        title = "Issue key or id to transition",
+        description = "Either this or `issueIdOrKeys` is required."
+    )
+    @PluginProperty(dynamic = true, group = "main")
+    private String issueIdOrKey;
+
+    @Schema(
+        title = "Issue keys or ids to transition",
+        description = "Every issue is attempted with up to `concurrency` requests at the same time and the task fails afterwards if some of them could not be transitioned, unless `failFast` is enabled."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> issueIdOrKeys;
+
+    @Schema(
+        title = "Target status",
+        description = "Name of the status to move the issues to, e.g. `Done`; a transition whose own name matches is used when no transition leads to a status with this name. Case-insensitive."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    private Property<String> status;
+
+    @Schema(
+        title = "Fields set during the transition",
+        description = "Rendered map sent as the `fields` object of the transition, e.g. `resolution: {name: Fixed}`; the fields must be on the transition screen."
+    )
+    @PluginProperty(group = "main")
+    private Property<Map<String, Object>> fields;
+
+    @Schema(
+        title = "Comment added during the transition"
+    )
+    @PluginProperty(group = "main")
+    private Property<String> comment;
+
+    @Schema(
+        title = "Maximum number of issues transitioned at the same time",
+        description = "Only used with `issueIdOrKeys`."
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(
+        title = "Stop at the first issue that cannot be transitioned",
+        description = "Only used with `issueIdOrKeys`. When enabled, the task fails on the first failure and the transitions still in flight are cancelled."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Boolean> failFast = Property.ofValue(false);
+
+    @Schema(
+        title = "How long a resolved transition id is cached"
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Duration> cacheTtl = Property.ofValue(Duration.ofHours(1));
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        List<String> rIssueIdOrKeys = new ArrayList<>(runContext.render(this.issueIdOrKeys).asList(String.class));
+        if (rIssueIdOrKeys.isEmpty()) {
+            if (this.issueIdOrKey == null || this.issueIdOrKey.isBlank()) {
+                throw new IllegalArgumentException("Either 'issueIdOrKey' or 'issueIdOrKeys' must be set");
+            }
+            rIssueIdOrKeys.add(runContext.render(this.issueIdOrKey));
+        }
+
+        String rBaseUrl = runContext.render(this.baseUrl);
+        String rStatus = runContext.render(this.status).as(String.class).orElseThrow();
+        Duration rCacheTtl = runContext.render(this.cacheTtl).as(Duration.class).orElse(Duration.ofHours(1));
+        int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+        boolean rFailFast = runContext.render(this.failFast).as(Boolean.class).orElse(false);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        Map<String, Object> rFields = runContext.render(this.fields).asMap(String.class, Object.class);
+        if (!rFields.isEmpty()) {
+            body.put("fields", rFields);
+        }
+        runContext.render(this.comment).as(String.class).ifPresent(
+            c -> body.put("update", Map.of("comment", List.of(Map.of("add", Map.of("body", c)))))
+        );
+
+        AtomicLong cacheHits = new AtomicLong();
+        AtomicLong cacheMisses = new AtomicLong();
+        AtomicReference<String> transitionId = new AtomicReference<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        // for a single issue, the search needed to use the cache costs as much as listing its transitions
+        Map<String, String> workflows = rIssueIdOrKeys.size() > 1 ? this.workflows(runContext, rIssueIdOrKeys) : Map.of();
+
+        try (JiraHttpClient client = this.httpClient(runContext)) {
+            JiraBatch.run(
+                rIssueIdOrKeys,
+                rConcurrency,
+                rFailFast,
+                key -> {
+                    String workflow = workflows.get(key);
+                    if (workflow == null) {
+                        // unknown project and issue type, a transition cached for another workflow could lead elsewhere
+                        cacheMisses.incrementAndGet();
+                        String id = this.findTransition(runContext, client, rBaseUrl, key, rStatus);
+                        this.postTransition(runContext, client, rBaseUrl, key, id, body);
+                        return id;
+                    }
+
+                    String cacheKey = String.join("|", rBaseUrl, workflow, rStatus.toLowerCase(Locale.ROOT));
+                    return this.transition(runContext, client, rBaseUrl, key, rStatus, cacheKey, rCacheTtl, body, cacheHits, cacheMisses);
+                },
+                result -> {
+                    if (result.failed()) {
+                        errors.put(result.item(), String.valueOf(result.error().getMessage()));
+                    } else {
+                        transitionId.set(result.output());
+                    }
+                }
+            );
+        }
+
+        runContext.metric(Counter.of("transitioned", rIssueIdOrKeys.size() - errors.size()));
+        runContext.metric(Counter.of("failed", errors.size()));
+        runContext.metric(Counter.of("cache.hit", cacheHits.get()));
+        runContext.metric(Counter.of("cache.miss", cacheMisses.get()));
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(errors.size() + " of " + rIssueIdOrKeys.size() + " issue(s) could not be transitioned to '" + rStatus + "': " +
+                errors.entrySet().stream().map(e -> e.getKey() + " (" + e.getValue() + ")").collect(Collectors.joining(", ")));
+        }
+
+        return Output.builder()
+            .transitionId(transitionId.get())
+            .transitioned((long) rIssueIdOrKeys.size())
+            .build();
+    }
+
+    private String transition(
+        RunContext runContext,
+        JiraHttpClient client,
+        String baseUrl,
+        String issueIdOrKey,
+        String status,
+        String cacheKey,
+        Duration cacheTtl,
+        Map<String, Object> body,
+        AtomicLong cacheHits,
+        AtomicLong cacheMisses
+    ) throws Exception {
+        Optional<String> cached = TRANSITIONS.getIfPresent(cacheKey);
+        if (cached.isPresent()) {
+            cacheHits.incrementAndGet();
+            try {
+                this.postTransition(runContext, client, baseUrl, issueIdOrKey, cached.get(), body);
+                return cached.get();
+            } catch (HttpClientResponseException e) {
+                if (e.getResponse() == null || e.getResponse().getStatus().getCode() != 400) {
+                    throw e;
+                }
+                // the issue is in a status from which the cached transition is not available
+                runContext.logger().debug("Cached transition '{}' rejected for issue '{}', looking it up again", cached.get(), issueIdOrKey);
+                String id = this.findTransition(runContext, client, baseUrl, issueIdOrKey, status);
+                TRANSITIONS.put(cacheKey, id, cacheTtl);
+                this.postTransition(runContext, client, baseUrl, issueIdOrKey, id, body);
+                return id;
+            }
+        }
+
+        cacheMisses.incrementAndGet();
+        String id = TRANSITIONS.get(cacheKey, cacheTtl, () -> this.findTransition(runContext, client, baseUrl, issueIdOrKey, status));
+        this.postTransition(runContext, client, baseUrl, issueIdOrKey, id, body);
+
+        return id;
+    }
+
+    private String findTransition(RunContext runContext, JiraHttpClient client, String baseUrl, String issueIdOrKey, String status) throws Exception {
+        JsonNode response = this.getJson(runContext, client, baseUrl + ISSUE_API_ROUTE + issueIdOrKey + TRANSITIONS_API_ROUTE);
+
+        return findTransition(response, status)
+            .orElseThrow(() -> new IllegalArgumentException("No transition to status '" + status + "' is available for issue '" + issueIdOrKey + "'"));
+    }
+
+    static Optional<String> findTransition(JsonNode response, String status) {
+        JsonNode transitions = response == null ? null : response.path("transitions");
+        if (transitions == null || !transitions.isArray()) {
+            return Optional.empty();
+        }
+
+        for (JsonNode transition : transitions) {
+            if (transition.path("to").path("name").asText().equalsIgnoreCase(status)) {
+                return Optional.of(transition.path("id").asText());
+            }
+        }
+
+        for (JsonNode transition : transitions) {
+            if (transition.path("name").asText().equalsIgnoreCase(status)) {
+                return Optional.of(transition.path("id").asText());
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private void postTransition(
+        RunContext runContext,
+        JiraHttpClient client,
+        String baseUrl,
+        String issueIdOrKey,
+        String transitionId,
+        Map<String, Object> body
+    ) throws Exception {
+        Map<String, Object> payload = new LinkedHashMap<>(body);
+        payload.put("transition", Map.of("id", transitionId));
+
+        HttpRequest request = this.authorizedRequest(runContext, "POST", URI.create(baseUrl + ISSUE_API_ROUTE + issueIdOrKey + TRANSITIONS_API_ROUTE))
+            .body(HttpRequest.StringRequestBody.builder().content(MAPPER.writeValueAsString(payload)).build())
+            .build();
+
+        client.requestString(request);
+    }
+
+    /**
+     * The workflow of every issue, as its project id and issue type id, read with {@code issue in (...)} searches and
+     * indexed by both the key and the id of the issue. Issues the searches do not return are left out, and so is
+     * everything when searching fails, the transitions of those issues being looked up without the cache.
+     */
+    private Map<String, String> workflows(RunContext runContext, List<String> issueIdOrKeys) {
+        Map<String, String> workflows = new HashMap<>();
+
+        try {
+            for (String jql : FetchHierarchy.queries("issue", new LinkedHashSet<>(issueIdOrKeys))) {
+                Search.of(this)
+                    .jql(Property.ofValue(jql))
+                    .fields(Property.ofValue(List.of("project", "issuetype")))
+                    .build()
+                    .fetch(runContext, null, issue -> workflow(issue).ifPresent(workflow -> {
+                        workflows.put(String.valueOf(issue.get("key")), workflow);
+                        workflows.put(String.valueOf(issue.get("id")), workflow);
+                    }));
+            }
+        } catch (Exception e) {
+            runContext.logger().debug("Unable to read the issue types of the issues, transitions are looked up for every issue", e);
+            return Map.of();
+        }
+
+        return workflows;
+    }
+
+    static Optional<String> workflow(Map<String, Object> issue) {
+        if (issue.get("fields") instanceof Map<?, ?> fields
+            && fields.get("project") instanceof Map<?, ?> project && project.get("id") != null
+            && fields.get("issuetype") instanceof Map<?, ?> issueType && issueType.get("id") != null) {
+            return Optional.of(project.get("id") + "|" + issueType.get("id"));
+        }
+
+        return Optional.empty();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Id of the transition used",
+            description = "For the last transitioned issue when several were given."
+        )
+        private final String transitionId;
+
+        @Schema(title = "Number of issues transitioned")
+        private final Long transitioned;
+    }
+}
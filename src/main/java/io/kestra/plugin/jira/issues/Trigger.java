@@ -0,0 +1,404 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.kestra.core.http.client.configurations.HttpConfiguration;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.*;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Trigger a flow on new or updated Jira issues",
+    description = "Polls Jira every `interval` for the issues matching `jql` that were updated since the last poll, using an `updated >= watermark` JQL cursor ordered by `updated`, " +
+        "and starts one execution holding the changed issues in an ION file. " +
+        "The watermark (last `updated` date and the issues seen at that date) is kept in the flow namespace KV store, so issues are neither missed nor emitted twice across polls and worker restarts. " +
+        "On the first poll every matching issue is emitted; set `initialWatermark` to start from a given date instead. " +
+        "To run one execution per issue, pass `{{ trigger.uri }}` to a `ForEachItem` task."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Log the bugs of a project updated since the last poll.",
+            full = true,
+            code = """
+                id: jira_updated_bugs
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.size }} bug(s) updated, see {{ trigger.uri }}"
+
+                triggers:
+                  - id: updated_bugs
+                    type: io.kestra.plugin.jira.issues.Trigger
+                    interval: PT5M
+                    baseUrl: https://your-domain.atlassian.net
+                    username: your_email@example.com
+                    password: "{{ secret('JIRA_API_TOKEN') }}"
+                    jql: "project = PROJ AND issuetype = Bug"
+                    fields:
+                      - summary
+                      - status
+                    timeZone: Europe/Paris
+                """
+        ),
+        @Example(
+            title = "Start one subflow execution per updated issue.",
+            full = true,
+            code = """
+                id: jira_updated_issues
+                namespace: company.team
+
+                tasks:
+                  - id: each_issue
+                    type: io.kestra.plugin.core.flow.ForEachItem
+                    items: "{{ trigger.uri }}"
+                    batch:
+                      rows: 1
+                    namespace: company.team
+                    flowId: handle_jira_issue
+                    inputs:
+                      issue: "{{ taskrun.items }}"
+
+                triggers:
+                  - id: updated_issues
+                    type: io.kestra.plugin.jira.issues.Trigger
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    jql: "project = PROJ"
+                    initialWatermark: "2024-01-01T00:00:00Z"
+                """
+        )
+    }
+)
+public class Trigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<Trigger.Output> {
+    private static final String WATERMARK_KV_PREFIX = "jira-trigger-";
+
+    @Builder.Default
+    private final Duration interval = Duration.ofMinutes(1);
+
+    @Schema(
+        title = "Jira REST base URL",
+        description = "Rendered HTTPS root such as `https://your-domain.atlassian.net`. Avoid a trailing slash."
+    )
+    @PluginProperty(dynamic = true, group = "connection")
+    @NotBlank
+    private String baseUrl;
+
+    @Schema(
+        title = "Jira username or email",
+        description = "Used with `password` for Basic/API token authentication; ignored when an `accessToken` is provided."
+    )
+    @PluginProperty(secret = true, group = "connection")
+    @ToString.Exclude
+    private Property<String> username;
+
+    @Schema(
+        title = "Jira password or API token",
+        description = "Used with `username` for Basic/API token authentication; ignored when an `accessToken` is provided."
+    )
+    @PluginProperty(secret = true, group = "connection")
+    @ToString.Exclude
+    private Property<String> password;
+
+    @Schema(
+        title = "Jira OAuth access token",
+        description = "Bearer token for OAuth; used only when `username`/`password` are not both set."
+    )
+    @PluginProperty(secret = true, group = "connection")
+    @ToString.Exclude
+    private Property<String> accessToken;
+
+    @Schema(
+        title = "OAuth client id",
+        description = "Lets the trigger obtain its own access tokens, with `refreshToken` when set and with the client credentials grant otherwise; used only when neither `username`/`password` nor `accessToken` is set."
+    )
+    @PluginProperty(secret = true, group = "connection")
+    @ToString.Exclude
+    private Property<String> clientId;
+
+    @Schema(
+        title = "OAuth client secret"
+    )
+    @PluginProperty(secret = true, group = "connection")
+    @ToString.Exclude
+    private Property<String> clientSecret;
+
+    @Schema(
+        title = "OAuth refresh token"
+    )
+    @PluginProperty(secret = true, group = "connection")
+    @ToString.Exclude
+    private Property<String> refreshToken;
+
+    @Schema(
+        title = "Store rotated refresh tokens in the namespace KV store",
+        description = "Same as the `storeRotatedRefreshToken` property of the Jira tasks: rotated refresh tokens are then stored in clear text in the flow namespace KV store."
+    )
+    @PluginProperty(group = "connection")
+    @Builder.Default
+    private Property<Boolean> storeRotatedRefreshToken = Property.ofValue(false);
+
+    @Schema(
+        title = "OAuth token endpoint"
+    )
+    @PluginProperty(group = "connection")
+    @Builder.Default
+    private Property<String> tokenUrl = Property.ofValue(JiraOAuth.DEFAULT_TOKEN_URL);
+
+    @Schema(
+        title = "OAuth scopes requested with the access token"
+    )
+    @PluginProperty(group = "connection")
+    private Property<List<String>> scopes;
+
+    @Schema(title = "HTTP client configuration")
+    private HttpConfiguration options;
+
+    @Schema(
+        title = "JQL filter",
+        description = "Rendered JQL selecting the issues to watch, without `ORDER BY`; the trigger adds the `updated` cursor and its own ordering."
+    )
+    @PluginProperty(group = "main")
+    @NotNull
+    private Property<String> jql;
+
+    @Schema(
+        title = "Fields to return",
+        description = "Projection applied by Jira to keep responses small; `updated` is always added. Defaults to Jira's navigable fields when empty."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> fields;
+
+    @Schema(
+        title = "Maximum number of issues per execution",
+        description = "Remaining issues are emitted by the next polls, oldest first. Issues already emitted that Jira returns again are skipped without counting towards this limit."
+    )
+    @PluginProperty(group = "main")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> maxResults = Property.ofValue(1000);
+
+    @Schema(
+        title = "Time zone of the Jira user",
+        description = "JQL dates are interpreted in the time zone set in the profile of the authenticated user; set the same zone here so the cursor does not skip issues."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<String> timeZone = Property.ofValue("UTC");
+
+    @Schema(
+        title = "Date to start from when no watermark is stored yet",
+        description = "ISO-8601 date-time; every issue matching `jql` is emitted on the first poll when not set."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<String> initialWatermark;
+
+    @Schema(
+        title = "Pagination mode",
+        description = "`TOKEN` for Jira Cloud, `OFFSET` for Jira Server / Data Center, see the `Search` task."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Search.Pagination> pagination = Property.ofValue(Search.Pagination.TOKEN);
+
+    @Override
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+
+        KVStore kvStore = runContext.namespaceKv(context.getNamespace());
+        String kvKey = WATERMARK_KV_PREFIX + context.getFlowId() + "-" + context.getTriggerId();
+        Watermark watermark = kvStore.getValue(kvKey)
+            .map(KVValue::value)
+            .map(Watermark::of)
+            .orElse(null);
+
+        if (watermark == null) {
+            var rInitialWatermark = runContext.render(this.initialWatermark).as(String.class);
+            if (rInitialWatermark.isPresent()) {
+                watermark = new Watermark(OffsetDateTime.parse(rInitialWatermark.get()).toInstant(), Set.of());
+            }
+        }
+
+        String rJql = runContext.render(this.jql).as(String.class).orElseThrow();
+        ZoneId rTimeZone = ZoneId.of(runContext.render(this.timeZone).as(String.class).orElse("UTC"));
+
+        List<String> rFields = new ArrayList<>(runContext.render(this.fields).asList(String.class));
+        if (!rFields.isEmpty() && !rFields.contains("updated") && !rFields.contains("*all")) {
+            rFields.add("updated");
+        }
+
+        Search search = Search.builder()
+            .id(this.getId())
+            .type(Search.class.getName())
+            .baseUrl(this.baseUrl)
+            .username(this.username)
+            .password(this.password)
+            .accessToken(this.accessToken)
+            .clientId(this.clientId)
+            .clientSecret(this.clientSecret)
+            .refreshToken(this.refreshToken)
+            .storeRotatedRefreshToken(this.storeRotatedRefreshToken)
+            .tokenUrl(this.tokenUrl)
+            .scopes(this.scopes)
+            .options(this.options)
+            .jql(Property.ofValue(cursorJql(rJql, watermark, rTimeZone)))
+            .fields(rFields.isEmpty() ? null : Property.ofValue(rFields))
+            .maxResults(this.maxResults)
+            .pagination(this.pagination)
+            .build();
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        AtomicLong count = new AtomicLong();
+        AtomicReference<Watermark> next = new AtomicReference<>(watermark);
+
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+            final Watermark previous = watermark;
+            count.set(search.fetchAccepted(runContext, null, issue -> {
+                String id = String.valueOf(issue.get("id"));
+                Instant updated = updated(issue);
+
+                // the JQL cursor only has minute precision, skip what was already emitted in that minute without
+                // counting it towards maxResults, so that a minute holding more issues than maxResults is paged through
+                if (previous != null && !previous.isAfter(updated, id)) {
+                    return false;
+                }
+
+                FileSerde.write(output, issue);
+                next.set(Watermark.advance(next.get(), updated, id));
+                return true;
+            }));
+        }
+
+        runContext.metric(Counter.of("records", count.get()));
+
+        if (count.get() == 0) {
+            runContext.logger().debug("No Jira issue updated since {}", watermark == null ? "the beginning" : watermark.updated());
+            return Optional.empty();
+        }
+
+        kvStore.put(kvKey, new KVValueAndMetadata(
+            new KVMetadata("Watermark of the Jira trigger " + context.getTriggerId(), (Duration) null),
+            next.get().toMap()
+        ));
+
+        runContext.logger().info("Found {} Jira issue(s) updated since {}", count.get(), watermark == null ? "the beginning" : watermark.updated());
+
+        Output output = Output.builder()
+            .uri(runContext.storage().putFile(tempFile))
+            .size(count.get())
+            .build();
+
+        return Optional.of(TriggerService.generateExecution(this, conditionContext, context, output));
+    }
+
+    static String cursorJql(String jql, Watermark watermark, ZoneId zoneId) {
+        String filter = jql == null || jql.isBlank() ? "" : "(" + jql + ")";
+
+        if (watermark != null) {
+            String cursor = "updated >= \"" + JiraUtil.JQL_DATE_TIME_FORMATTER.format(
+                watermark.updated().truncatedTo(ChronoUnit.MINUTES).atZone(zoneId)
+            ) + "\"";
+            filter = filter.isEmpty() ? cursor : filter + " AND " + cursor;
+        }
+
+        return filter + " ORDER BY updated ASC, key ASC";
+    }
+
+    private static Instant updated(Map<String, Object> issue) {
+        if (issue.get("fields") instanceof Map<?, ?> fields && fields.get("updated") != null) {
+            return OffsetDateTime.parse(String.valueOf(fields.get("updated")), JiraUtil.DATE_TIME_FORMATTER).toInstant();
+        }
+
+        throw new IllegalStateException("Jira issue '" + issue.get("key") + "' has no 'updated' field");
+    }
+
+    /**
+     * Last {@code updated} date emitted and the ids of the issues emitted with exactly that date.
+     */
+    record Watermark(Instant updated, Set<String> ids) {
+        static Watermark of(Object value) {
+            if (!(value instanceof Map<?, ?> map) || map.get("updated") == null) {
+                return null;
+            }
+
+            Set<String> ids = new HashSet<>();
+            if (map.get("ids") instanceof Collection<?> values) {
+                values.forEach(id -> ids.add(String.valueOf(id)));
+            }
+
+            return new Watermark(Instant.parse(String.valueOf(map.get("updated"))), ids);
+        }
+
+        static Watermark advance(Watermark watermark, Instant updated, String id) {
+            if (watermark == null || updated.isAfter(watermark.updated())) {
+                return new Watermark(updated, new HashSet<>(Set.of(id)));
+            }
+
+            if (updated.equals(watermark.updated())) {
+                Set<String> ids = new HashSet<>(watermark.ids());
+                ids.add(id);
+                return new Watermark(updated, ids);
+            }
+
+            return watermark;
+        }
+
+        boolean isAfter(Instant updated, String id) {
+            return updated.isAfter(this.updated) || updated.equals(this.updated) && !this.ids.contains(id);
+        }
+
+        Map<String, Object> toMap() {
+            return Map.of("updated", this.updated.toString(), "ids", new ArrayList<>(this.ids));
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI of the ION file holding the updated issues",
+            description = "Issues are ordered by `updated`, oldest first."
+        )
+        private final URI uri;
+
+        @Schema(title = "Number of updated issues")
+        private final Long size;
+    }
+}
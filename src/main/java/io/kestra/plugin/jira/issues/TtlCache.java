@@ -0,0 +1,117 @@
+package io.kestra.plugin.jira.issues;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * A small in-memory cache shared by the tasks running on a worker: entries expire after a TTL, the least recently used
+ * entry is evicted when {@code maxSize} is reached, and concurrent misses on the same key trigger a single load whose
+ * result is handed to every waiting caller.
+ */
+final class TtlCache<K, V> {
+    private final int maxSize;
+
+    private final Map<K, Entry<V>> entries;
+
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    TtlCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlCache.this.maxSize;
+            }
+        };
+    }
+
+    synchronized Optional<V> getIfPresent(K key) {
+        Entry<V> entry = this.entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        if (entry.expiresAt() < System.nanoTime()) {
+            this.entries.remove(key);
+            return Optional.empty();
+        }
+
+        return Optional.of(entry.value());
+    }
+
+    synchronized void put(K key, V value, Duration ttl) {
+        this.entries.put(key, new Entry<>(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    synchronized void invalidate(K key) {
+        this.entries.remove(key);
+    }
+
+    /**
+     * Removes the entry only if it still holds {@code value}, so that callers rejecting the same stale value do not
+     * discard a fresh one loaded in the meantime.
+     */
+    synchronized void invalidate(K key, V value) {
+        Entry<V> entry = this.entries.get(key);
+        if (entry != null && entry.value().equals(value)) {
+            this.entries.remove(key);
+        }
+    }
+
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the cached value, or loads it once for all the callers asking for the same key at the same time.
+     */
+    V get(K key, Duration ttl, Callable<V> loader) throws Exception {
+        return this.get(key, value -> ttl, loader);
+    }
+
+    /**
+     * Same as {@link #get(Object, Duration, Callable)} with a TTL depending on the loaded value, e.g. the lifetime of a token.
+     */
+    V get(K key, Function<V, Duration> ttl, Callable<V> loader) throws Exception {
+        Optional<V> cached = this.getIfPresent(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = this.loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            try {
+                return inFlight.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            // another caller may have completed the load between the lookup and the registration
+            cached = this.getIfPresent(key);
+            V value = cached.isPresent() ? cached.get() : loader.call();
+            if (cached.isEmpty()) {
+                this.put(key, value, ttl.apply(value));
+            }
+            future.complete(value);
+
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loading.remove(key, future);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+}
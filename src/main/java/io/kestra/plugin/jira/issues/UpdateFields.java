@@ -1,31 +1,32 @@
 package io.kestra.plugin.jira.issues;
 
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-
-import org.apache.commons.io.IOUtils;
-
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.stream.Collectors;
 
+import io.kestra.core.http.HttpRequest;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
-import io.kestra.core.models.tasks.VoidOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.JacksonMapper;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Min;
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
+import static io.kestra.plugin.jira.issues.JiraUtil.ISSUE_API_ROUTE;
+
 @SuperBuilder
 @ToString
 @EqualsAndHashCode(callSuper = true)
@@ -33,7 +34,9 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @Schema(
     title = "Update fields on a Jira issue",
-    description = "Sends a POST to Jira's issue API to change selected fields. Renders `issueIdOrKey` and `fields` with flow variables, then serializes values via `update-field-template.peb` (nested objects are not supported). Requires Jira authentication (Basic or OAuth) configured on the task."
+    description = "Sends a PUT to Jira's issue API to change selected fields in one atomic edit. Renders `issueIdOrKey`, `fields` and `update` with flow variables and serializes them as JSON, " +
+        "so numbers, booleans, objects (select options, users) and lists keep their type. `update` takes Jira's `add`, `set` and `remove` operations, e.g. on `labels`, `components` or `fixVersions`. " +
+        "Set `issueIdOrKeys` instead of `issueIdOrKey` to apply the same changes to many issues. Requires Jira authentication (Basic or OAuth) configured on the task."
 )
 @Plugin(
     examples = {
@@ -55,52 +58,207 @@ import lombok.experimental.SuperBuilder;
                       description: "Updated description of: {{ execution.id }}"
                       customfield_10005: "Updated value"
                 """
+        ),
+        @Example(
+            title = "Set typed fields and edit labels and fix versions of several issues in one request each.",
+            full = true,
+            code = """
+                id: jira_release_issues
+                namespace: company.myteam
+
+                tasks:
+                  - id: release
+                    type: io.kestra.plugin.jira.issues.UpdateFields
+                    baseUrl: https://your-domain.atlassian.net
+                    accessToken: "{{ secret('JIRA_ACCESS_TOKEN') }}"
+                    issueIdOrKeys:
+                      - PROJ-1
+                      - PROJ-2
+                      - PROJ-3
+                    fields:
+                      priority:
+                        name: High
+                      Story Points: 5
+                      assignee: release-manager@example.com
+                    validateFields: true
+                    update:
+                      labels:
+                        - add: released
+                        - remove: to-release
+                      fixVersions:
+                        - add:
+                            name: "2.0"
+                    concurrency: 8
+                """
         )
     }
 )
 public class UpdateFields extends JiraTemplate {
 
-    private final static ObjectMapper mapper = JacksonMapper.ofJson();
-
     @Schema(
         title = "Issue key or id to update",
-        description = "Rendered value appended to `/rest/api/2/issue/` before sending the request."
+        description = "Rendered value appended to `/rest/api/2/issue/` before sending the request; either this or `issueIdOrKeys` is required."
     )
     @PluginProperty(dynamic = true, group = "main")
-    @NotBlank
     private String issueIdOrKey;
 
+    @Schema(
+        title = "Issue keys or ids to update",
+        description = "Applies the same `fields` and `update` to every issue, with up to `concurrency` requests at the same time. " +
+            "Every issue is attempted and the task fails afterwards if some of them could not be updated, unless `failFast` is enabled."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> issueIdOrKeys;
+
     @Schema(
         title = "Field names and new values",
-        description = "Rendered map of field keys to updated values; entries are stringified by the template, so use simple scalar values."
+        description = "Rendered map of field ids or display names to values, sent in the `fields` object of the request: use objects for select lists and users, e.g. `priority: {name: High}`, and numbers for number fields. " +
+            "Display names such as `Story Points` are resolved to field ids through the worker-wide metadata cache. " +
+            "User fields (`assignee`, `reporter`, user pickers) also accept an email address or display name, or a list of them for multi-user pickers, resolved to account ids through the worker-wide user cache."
     )
-    @NotNull
     @PluginProperty(group = "main")
     private Property<Map<String, Object>> fields;
 
+    @Schema(
+        title = "Field operations",
+        description = "Rendered map of field keys to a list of Jira operations (`add`, `set`, `remove`, `edit`), sent as the `update` object of the request, " +
+            "e.g. `labels: [{add: urgent}, {remove: triage}]`. Cannot target a field also listed in `fields`."
+    )
+    @PluginProperty(group = "main")
+    private Property<Map<String, Object>> update;
+
+    @Schema(
+        title = "Check field values against the field schema",
+        description = "Fetches the field metadata (cached on the worker) and fails before sending anything when a field is unknown or a value does not have the type Jira expects, " +
+            "e.g. a string for a number field or a plain string for a select list."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Boolean> validateFields = Property.ofValue(false);
+
+    @Schema(
+        title = "Maximum number of issues updated at the same time",
+        description = "Only used with `issueIdOrKeys`."
+    )
+    @PluginProperty(group = "advanced")
+    @Min(1)
+    @Builder.Default
+    private Property<Integer> concurrency = Property.ofValue(4);
+
+    @Schema(
+        title = "Stop at the first issue that cannot be updated",
+        description = "Only used with `issueIdOrKeys`. When enabled, the task fails on the first failure and the updates still in flight are cancelled."
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Boolean> failFast = Property.ofValue(false);
+
     @Override
-    public VoidOutput run(RunContext runContext) throws Exception {
-        this.templateUri = Property.ofValue("update-field-template.peb");
-        this.baseUrl += JiraUtil.ISSUE_API_ROUTE + runContext.render(this.issueIdOrKey);
+    public Output run(RunContext runContext) throws Exception {
+        List<String> rIssueIdOrKeys = runContext.render(this.issueIdOrKeys).asList(String.class);
+
+        if (rIssueIdOrKeys.isEmpty()) {
+            if (this.issueIdOrKey == null || this.issueIdOrKey.isBlank()) {
+                throw new IllegalArgumentException("Either 'issueIdOrKey' or 'issueIdOrKeys' must be set");
+            }
+
+            return super.run(runContext);
+        }
+
+        return this.runBulk(runContext, rIssueIdOrKeys);
+    }
+
+    private Output runBulk(RunContext runContext, List<String> issueIdOrKeys) throws Exception {
+        String rBaseUrl = runContext.render(this.baseUrl);
+        int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(4);
+        boolean rFailFast = runContext.render(this.failFast).as(Boolean.class).orElse(false);
+        String body = this.renderBody(runContext);
+
+        long start = System.nanoTime();
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        try (JiraHttpClient client = this.httpClient(runContext)) {
+            JiraBatch.run(
+                issueIdOrKeys,
+                rConcurrency,
+                rFailFast,
+                key -> this.updateIssue(runContext, client, rBaseUrl, key, body),
+                result -> {
+                    if (result.failed()) {
+                        errors.put(result.item(), String.valueOf(result.error().getMessage()));
+                    }
+                }
+            );
+        }
+
+        runContext.metric(Counter.of("updated", issueIdOrKeys.size() - errors.size()));
+        runContext.metric(Counter.of("failed", errors.size()));
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(errors.size() + " of " + issueIdOrKeys.size() + " issue(s) could not be updated: " +
+                errors.entrySet().stream().map(e -> e.getKey() + " (" + e.getValue() + ")").collect(Collectors.joining(", ")));
+        }
 
-        String templateUri = runContext.render(this.templateUri)
-            .as(String.class)
-            .orElseThrow(() -> new IllegalArgumentException("Invalid templateUri: " + this.templateUri));
+        return Output.builder()
+            .duration(Duration.ofNanos(System.nanoTime() - start))
+            .build();
+    }
 
-        String template = IOUtils.toString(
-            Objects.requireNonNull(this.getClass().getClassLoader().getResourceAsStream(templateUri)),
-            StandardCharsets.UTF_8
-        );
+    private String updateIssue(RunContext runContext, JiraHttpClient client, String baseUrl, String issueIdOrKey, String body) throws Exception {
+        HttpRequest request = this.authorizedRequest(runContext, this.method(), URI.create(baseUrl + ISSUE_API_ROUTE + issueIdOrKey))
+            .body(HttpRequest.StringRequestBody.builder().content(body).build())
+            .build();
 
-        String render = runContext.render(
-            template, Map.of("fields", runContext.render(this.fields).asMap(String.class, Object.class))
-        );
+        client.requestString(request);
 
-        Map<String, Object> body = mapper.readValue(render, new TypeReference<>() {
-        });
+        return issueIdOrKey;
+    }
 
-        this.payload = Property.ofValue(mapper.writeValueAsString(body));
-        return super.run(runContext);
+    @Override
+    protected String route(RunContext runContext) throws Exception {
+        return ISSUE_API_ROUTE + runContext.render(this.issueIdOrKey);
     }
 
+    @Override
+    protected String method() {
+        return "PUT";
+    }
+
+    @Override
+    protected String renderPayload(RunContext runContext) throws Exception {
+        Map<String, Object> rFields = runContext.render(this.fields).asMap(String.class, Object.class);
+        Map<String, Object> rUpdate = runContext.render(this.update).asMap(String.class, Object.class);
+
+        if (rFields.isEmpty() && rUpdate.isEmpty()) {
+            throw new IllegalArgumentException("At least one of 'fields' or 'update' must be set");
+        }
+
+        boolean rValidateFields = runContext.render(this.validateFields).as(Boolean.class).orElse(false);
+        if (rValidateFields || !JiraMetadata.allFieldIds(rFields.keySet()) || !JiraMetadata.allFieldIds(rUpdate.keySet()) || JiraUsers.mayHaveUsers(rFields)) {
+            try (JiraHttpClient client = this.httpClient(runContext)) {
+                Map<String, JiraMetadata.Field> metadata = this.fieldMetadata(runContext, client);
+                rFields = JiraMetadata.resolve(rFields, metadata, rValidateFields);
+                rUpdate = JiraMetadata.resolve(rUpdate, metadata, false);
+                // resolved once for the whole run, every issue of `issueIdOrKeys` gets the same payload
+                rFields = JiraUsers.resolve(rFields, metadata, user -> this.resolveAccountId(runContext, client, user));
+            }
+        }
+
+        var renderedTemplateUri = this.renderTemplateUri(runContext);
+        Map<String, Object> fields = rFields;
+        Map<String, Object> update = rUpdate;
+        if (renderedTemplateUri.isPresent()) {
+            return this.timed(runContext, () -> PayloadTemplates.render(runContext, renderedTemplateUri.get(), Map.of("fields", fields, "update", update)));
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (!rFields.isEmpty()) {
+            body.put("fields", rFields);
+        }
+        if (!rUpdate.isEmpty()) {
+            body.put("update", rUpdate);
+        }
+
+        return this.timed(runContext, () -> JacksonMapper.ofJson().writeValueAsString(body));
+    }
 }
@@ -0,0 +1,244 @@
+package io.kestra.plugin.jira.issues;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.contexts.KestraContext;
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.core.trigger.Webhook;
+
+import io.micronaut.http.HttpRequest;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Slf4j
+@Schema(
+    title = "Trigger a flow from Jira webhook events",
+    description = "Jira webhook receiver built on Kestra's webhook trigger: register `/api/v1/main/executions/webhook/{namespace}/{flowId}/{key}` as a Jira webhook. " +
+        "Events are filtered by `events`, `projects` and a JQL-like `filter` before any execution is created, the `X-Hub-Signature` is checked when a `secret` is set, " +
+        "and redeliveries of the same event (same `X-Atlassian-Webhook-Identifier`) are dropped for `deduplicationWindow`."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Start a flow when a high priority bug is created or updated in the PROJ project.",
+            full = true,
+            code = """
+                id: jira_bug_events
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.body.issue.key }} - {{ trigger.body.webhookEvent }}"
+
+                triggers:
+                  - id: jira
+                    type: io.kestra.plugin.jira.issues.WebhookTrigger
+                    key: 4wjtkzwVGBM9yKnjm3yv8r
+                    secret: "{{ secret('JIRA_WEBHOOK_SECRET') }}"
+                    events:
+                      - jira:issue_created
+                      - jira:issue_updated
+                    projects:
+                      - PROJ
+                    filter: "issuetype = Bug AND priority in (High, Highest)"
+                """
+        )
+    }
+)
+public class WebhookTrigger extends Webhook {
+    private static final int MAX_DELIVERIES = 10_000;
+
+    private static final String SIGNATURE_HEADER = "X-Hub-Signature";
+
+    private static final String DELIVERY_HEADER = "X-Atlassian-Webhook-Identifier";
+
+    // parsed filters, shared by the flows handled by this JVM so that a filter is not parsed again for every event
+    private static final TtlCache<String, JqlPredicate> PREDICATES = new TtlCache<>(256);
+
+    // delivery ids seen recently, oldest first, shared by all the flows handled by this JVM
+    private static final Map<String, Long> DELIVERIES = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_DELIVERIES;
+        }
+    };
+
+    @Schema(
+        title = "Webhook events to accept",
+        description = "Values of the payload `webhookEvent`, e.g. `jira:issue_created`, `jira:issue_updated` or `comment_created`; all events are accepted when empty."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> events;
+
+    @Schema(
+        title = "Project keys to accept",
+        description = "Matched against `issue.fields.project.key`; all projects are accepted when empty."
+    )
+    @PluginProperty(group = "main")
+    private Property<List<String>> projects;
+
+    @Schema(
+        title = "JQL-like filter on the event",
+        description = "Clauses joined with `AND` using `=`, `!=`, `~`, `in (...)` and `not in (...)`, e.g. `issuetype = Bug AND labels != ignore`. " +
+            "Fields are read from `issue.fields`, except `key`, `project` and paths starting with `issue.`, `comment.`, `user.` or `changelog.`."
+    )
+    @PluginProperty(group = "main")
+    private Property<String> filter;
+
+    @Schema(
+        title = "Webhook secret",
+        description = "When set, the HMAC-SHA256 `X-Hub-Signature` header sent by Jira must match the request body, otherwise the event is dropped."
+    )
+    @PluginProperty(secret = true, group = "connection")
+    @ToString.Exclude
+    private Property<String> secret;
+
+    @Schema(
+        title = "How long a delivery is remembered to drop duplicates"
+    )
+    @PluginProperty(group = "advanced")
+    @Builder.Default
+    private Property<Duration> deduplicationWindow = Property.ofValue(Duration.ofMinutes(10));
+
+    @Override
+    public Optional<Execution> evaluate(HttpRequest<String> request, Flow flow) {
+        // Kestra does not hand a run context to webhook triggers, this is the one it renders the webhook `key` with
+        RunContext runContext = KestraContext.getContext().getBean(RunContextFactory.class).of(flow, this);
+
+        return this.evaluate(runContext, request, flow);
+    }
+
+    Optional<Execution> evaluate(RunContext runContext, HttpRequest<String> request, Flow flow) {
+        String body = request.getBody().orElse(null);
+        if (body == null || body.isBlank()) {
+            return Optional.empty();
+        }
+
+        String rSecret;
+        Duration rDeduplicationWindow;
+        try {
+            rSecret = runContext.render(this.secret).as(String.class).orElse(null);
+            rDeduplicationWindow = runContext.render(this.deduplicationWindow).as(Duration.class).orElse(Duration.ofMinutes(10));
+        } catch (IllegalVariableEvaluationException e) {
+            log.warn("Dropping Jira webhook event for flow '{}.{}': unable to render the trigger properties", flow.getNamespace(), flow.getId(), e);
+            return Optional.empty();
+        }
+
+        if (rSecret != null && !validSignature(rSecret, body, request.getHeaders().get(SIGNATURE_HEADER))) {
+            log.warn("Dropping Jira webhook event for flow '{}.{}': invalid signature", flow.getNamespace(), flow.getId());
+            return Optional.empty();
+        }
+
+        JsonNode event;
+        try {
+            event = JacksonMapper.ofJson().readTree(body);
+        } catch (Exception e) {
+            log.warn("Dropping Jira webhook event for flow '{}.{}': invalid JSON body", flow.getNamespace(), flow.getId());
+            return Optional.empty();
+        }
+
+        try {
+            if (!this.accept(runContext, event)) {
+                return Optional.empty();
+            }
+        } catch (IllegalVariableEvaluationException e) {
+            log.warn("Dropping Jira webhook event for flow '{}.{}': unable to render the filters", flow.getNamespace(), flow.getId(), e);
+            return Optional.empty();
+        }
+
+        String delivery = Optional.ofNullable(request.getHeaders().get(DELIVERY_HEADER))
+            .orElseGet(() -> JiraUtil.sha256(body));
+        if (!firstDelivery(flow.getNamespace() + "." + flow.getId() + "." + this.getId() + "." + delivery, rDeduplicationWindow)) {
+            log.debug("Dropping duplicate Jira webhook delivery '{}'", delivery);
+            return Optional.empty();
+        }
+
+        return super.evaluate(request, flow);
+    }
+
+    boolean accept(RunContext runContext, JsonNode event) throws IllegalVariableEvaluationException {
+        List<String> rEvents = runContext.render(this.events).asList(String.class);
+        if (!rEvents.isEmpty() && !rEvents.contains(event.path("webhookEvent").asText())) {
+            return false;
+        }
+
+        List<String> rProjects = runContext.render(this.projects).asList(String.class);
+        if (!rProjects.isEmpty() && !rProjects.contains(event.path("issue").path("fields").path("project").path("key").asText())) {
+            return false;
+        }
+
+        String rFilter = runContext.render(this.filter).as(String.class).orElse(null);
+
+        return rFilter == null || rFilter.isBlank() || predicate(rFilter).test(event);
+    }
+
+    private static JqlPredicate predicate(String filter) {
+        try {
+            return PREDICATES.get(filter, Duration.ofHours(1), () -> JqlPredicate.parse(filter));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean validSignature(String secret, String body, String header) {
+        if (header == null) {
+            return false;
+        }
+
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            String expected = "sha256=" + HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+
+            return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), header.trim().getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.warn("Unable to verify the Jira webhook signature", e);
+            return false;
+        }
+    }
+
+    private static boolean firstDelivery(String delivery, Duration window) {
+        long now = System.currentTimeMillis();
+
+        synchronized (DELIVERIES) {
+            // entries are in insertion order, so expired ones are at the head
+            var iterator = DELIVERIES.entrySet().iterator();
+            while (iterator.hasNext() && iterator.next().getValue() < now) {
+                iterator.remove();
+            }
+
+            return DELIVERIES.putIfAbsent(delivery, now + window.toMillis()) == null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+@KestraTest
+public class AddAttachmentsTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void upload() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            RunContext runContext = TestsUtils.mockRunContext(runContextFactory, jira.addAttachments(List.of()), Map.of());
+            URI logs = runContext.storage().putFile(new ByteArrayInputStream("line 1\nline 2".getBytes(StandardCharsets.UTF_8)), "logs.txt");
+            URI dump = runContext.storage().putFile(new ByteArrayInputStream(new byte[2048]), "dump.bin");
+            AddAttachments task = jira.addAttachments(List.of(logs.toString(), dump.toString()));
+
+            AddAttachments.Output output = task.run(runContext);
+
+            assertThat(output.getSize(), is(13L + 2048L));
+            // in the order of `files`, whichever upload finished first
+            assertThat(output.getAttachments().stream().map(attachment -> attachment.get("filename")).toList(), is(List.of(
+                AddAttachments.filename(logs),
+                AddAttachments.filename(dump)
+            )));
+            assertThat((String) output.getAttachments().getFirst().get("filename"), endsWith("logs.txt"));
+            assertThat(output.getAttachments().getFirst().get("size"), is(13L));
+            assertThat((String) output.getAttachments().getFirst().get("content"), startsWith("http://localhost/rest/api/2/attachment/content/"));
+
+            // one multipart request per file, the content streamed unchanged
+            assertThat(jira.uploads.stream().map(FakeJira.Upload::size).toList(), containsInAnyOrder(13, 2048));
+            FakeJira.Upload upload = jira.uploads.stream().filter(u -> u.size() == 13).findFirst().orElseThrow();
+            assertThat(upload.content(), is("line 1\nline 2"));
+            assertThat(upload.path(), is("/rest/api/2/issue/INC-42/attachments"));
+            assertThat(upload.atlassianToken(), is("no-check"));
+        }
+    }
+
+    @Test
+    void multipart() throws Exception {
+        InputStream body = AddAttachments.multipart(
+            "boundary",
+            AddAttachments.filename(URI.create("kestra:///io/kestra/tests/logs.txt")),
+            new ByteArrayInputStream("line 1\nline 2".getBytes(StandardCharsets.UTF_8))
+        );
+
+        assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8), is(
+            "--boundary\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"logs.txt\"\r\n" +
+                "Content-Type: application/octet-stream\r\n\r\n" +
+                "line 1\nline 2" +
+                "\r\n--boundary--\r\n"
+        ));
+    }
+
+    /**
+     * Serves the attachment route, answering every upload with the attachment Jira would create for its single file part.
+     */
+    private static class FakeJira implements AutoCloseable {
+        private static final Pattern FILENAME = Pattern.compile("filename=\"([^\"]*)\"");
+
+        private final HttpServer server;
+
+        private final AtomicInteger created = new AtomicInteger();
+
+        private final List<Upload> uploads = new CopyOnWriteArrayList<>();
+
+        private FakeJira() throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/rest/api/2/issue/", exchange -> {
+                // ISO-8859-1 maps every byte to one char, so that the part length is the file size
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+                String boundary = body.substring(0, Math.max(body.indexOf("\r\n"), 0));
+                Matcher filename = FILENAME.matcher(body);
+                if (!boundary.startsWith("--") || !filename.find()) {
+                    respond(exchange, 400, "{\"errorMessages\": [\"Invalid multipart request\"]}");
+                    return;
+                }
+
+                int start = body.indexOf("\r\n\r\n") + 4;
+                String content = body.substring(start, body.lastIndexOf("\r\n" + boundary + "--"));
+                this.uploads.add(new Upload(
+                    exchange.getRequestURI().getPath(),
+                    filename.group(1),
+                    content,
+                    content.length(),
+                    exchange.getRequestHeaders().getFirst("X-Atlassian-Token")
+                ));
+
+                int id = this.created.incrementAndGet();
+                respond(exchange, 200, JacksonMapper.ofJson().writeValueAsString(List.of(Map.of(
+                    "id", String.valueOf(id),
+                    "filename", filename.group(1),
+                    "size", content.length(),
+                    "content", "http://localhost/rest/api/2/attachment/content/" + id
+                ))));
+            });
+            this.server.start();
+        }
+
+        private static void respond(HttpExchange exchange, int status, String response) throws IOException {
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+
+        private AddAttachments addAttachments(List<String> files) {
+            return AddAttachments.builder()
+                .id("add_attachments")
+                .type(AddAttachments.class.getName())
+                .baseUrl("http://localhost:" + this.server.getAddress().getPort())
+                .username(Property.ofValue("jane@example.com"))
+                .password(Property.ofValue("token"))
+                .issueIdOrKey("INC-42")
+                .files(Property.ofValue(files))
+                .concurrency(Property.ofValue(2))
+                .build();
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+
+        private record Upload(String path, String filename, String content, int size, String atlassianToken) {}
+    }
+}
@@ -0,0 +1,193 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@KestraTest
+class CreateBulkTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void chunksAndErrors() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            CreateBulk task = jira.createBulk(List.of(
+                Map.of("summary", "first"),
+                Map.of("summary", "invalid second"),
+                Map.of("summary", "invalid third"),
+                Map.of("summary", "invalid fourth", "projectKey", "OTHER"),
+                Map.of("summary", "fifth", "issueTypeId", "10004")
+            ));
+            RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+            CreateBulk.Output output = task.run(runContext);
+
+            assertThat(jira.chunkSizes, is(List.of(2, 2, 1)));
+            assertThat(output.getCreated(), is(2L));
+            assertThat(output.getFailed(), is(3L));
+
+            List<Map<String, Object>> results = results(runContext, output);
+            assertThat(results.stream().map(result -> ((Number) result.get("row")).intValue()).toList(), is(List.of(0, 1, 2, 3, 4)));
+
+            assertThat(results.get(0).get("key"), is("PROJ-1"));
+            assertThat(results.get(0).get("error"), nullValue());
+
+            // a chunk with some failed rows is created with a 201, the failed element numbers are relative to the chunk
+            assertThat(((Number) results.get(1).get("status")).intValue(), is(400));
+            assertThat(results.get(1).get("error"), is(Map.of("errors", Map.of("summary", "invalid second"))));
+
+            // a chunk where every row failed is answered with a 400, its body still holds the errors of every row
+            assertThat(results.get(2).get("error"), is(Map.of("errors", Map.of("summary", "invalid third"))));
+            assertThat(results.get(3).get("error"), is(Map.of("errors", Map.of("summary", "invalid fourth"))));
+
+            assertThat(results.get(4).get("key"), is("PROJ-2"));
+
+            Map<String, Object> fifth = fields(jira.chunks.get(2).get(0));
+            assertThat(fifth.get("project"), is(Map.of("key", "PROJ")));
+            assertThat(fifth.get("issuetype"), is(Map.of("id", "10004")));
+            assertThat(fifth.get("labels"), is(List.of("kestra-bot")));
+            assertThat(fields(jira.chunks.get(1).get(1)).get("project"), is(Map.of("key", "OTHER")));
+        }
+    }
+
+    @Test
+    void usersResolvedOnce() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            CreateBulk task = jira.createBulk(List.of(
+                Map.of("summary", "first", "assignee", "jane@example.com"),
+                Map.of("summary", "second", "assignee", "jane@example.com", "reporter", "john@example.com"),
+                Map.of("summary", "third", "assignee", "jane@example.com"),
+                Map.of("summary", "fourth", "assignee", "5b10a2844c20165700ede21f")
+            ));
+            RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+            CreateBulk.Output output = task.run(runContext);
+
+            assertThat(output.getCreated(), is(4L));
+            // looked up once for the whole run through the worker-wide user cache, account ids are used as is
+            assertThat(jira.userSearches, is(Map.of("jane@example.com", 1, "john@example.com", 1)));
+
+            assertThat(fields(jira.chunks.get(0).get(0)).get("assignee"), is(Map.of("accountId", "account-jane@example.com")));
+            assertThat(fields(jira.chunks.get(0).get(1)).get("reporter"), is(Map.of("accountId", "account-john@example.com")));
+            assertThat(fields(jira.chunks.get(1).get(0)).get("assignee"), is(Map.of("accountId", "account-jane@example.com")));
+            assertThat(fields(jira.chunks.get(1).get(1)).get("assignee"), is(Map.of("accountId", "5b10a2844c20165700ede21f")));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> results(RunContext runContext, CreateBulk.Output output) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri()), StandardCharsets.UTF_8))) {
+            return FileSerde.readAll(reader).map(row -> (Map<String, Object>) row).collectList().block();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> fields(Map<String, Object> issueUpdate) {
+        return (Map<String, Object>) issueUpdate.get("fields");
+    }
+
+    /**
+     * Serves the bulk creation and user search routes. Rows whose summary starts with `invalid` are rejected, and a
+     * chunk where every row is rejected is answered with a 400, like Jira does.
+     */
+    private static class FakeJira implements AutoCloseable {
+        private final HttpServer server;
+
+        private final AtomicInteger created = new AtomicInteger();
+
+        private final List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+
+        private final List<List<Map<String, Object>>> chunks = new CopyOnWriteArrayList<>();
+
+        private final Map<String, Integer> userSearches = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private FakeJira() throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/rest/api/2/issue/bulk", exchange -> {
+                Map<String, Object> request = JacksonMapper.toMap(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                List<Map<String, Object>> issueUpdates = (List<Map<String, Object>>) request.get("issueUpdates");
+                this.chunkSizes.add(issueUpdates.size());
+                this.chunks.add(issueUpdates);
+
+                List<Map<String, Object>> issues = new ArrayList<>();
+                List<Map<String, Object>> errors = new ArrayList<>();
+                for (int i = 0; i < issueUpdates.size(); i++) {
+                    String summary = String.valueOf(fields(issueUpdates.get(i)).get("summary"));
+                    if (summary.startsWith("invalid")) {
+                        errors.add(Map.of("status", 400, "failedElementNumber", i, "elementErrors", Map.of("errors", Map.of("summary", summary))));
+                    } else {
+                        int id = this.created.incrementAndGet();
+                        issues.add(Map.of("id", "1000" + id, "key", "PROJ-" + id, "self", "http://localhost/rest/api/2/issue/1000" + id));
+                    }
+                }
+
+                respond(exchange, issues.isEmpty() ? 400 : 201, JacksonMapper.ofJson().writeValueAsString(Map.of("issues", issues, "errors", errors)));
+            });
+            this.server.createContext("/rest/api/2/user/search", exchange -> {
+                String query = exchange.getRequestURI().getQuery().substring("query=".length());
+                this.userSearches.merge(query, 1, Integer::sum);
+
+                respond(exchange, 200, JacksonMapper.ofJson().writeValueAsString(List.of(Map.of("accountId", "account-" + query, "emailAddress", query))));
+            });
+            this.server.start();
+        }
+
+        private static void respond(HttpExchange exchange, int status, String response) throws IOException {
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+
+        private CreateBulk createBulk(List<Map<String, Object>> rows) {
+            return CreateBulk.builder()
+                .id("create_bulk")
+                .type(CreateBulk.class.getName())
+                .baseUrl("http://localhost:" + this.server.getAddress().getPort())
+                .username(Property.ofValue("jane@example.com"))
+                .password(Property.ofValue("token"))
+                .projectKey(Property.ofValue("PROJ"))
+                .from(rows)
+                .chunkSize(Property.ofValue(2))
+                .concurrency(Property.ofValue(1))
+                .build();
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+    }
+}
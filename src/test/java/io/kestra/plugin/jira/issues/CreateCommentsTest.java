@@ -0,0 +1,161 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class CreateCommentsTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void comments() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            CreateComments task = jira.createComments(List.of(
+                Map.of("issueIdOrKey", "PROJ-1", "body", "Line \"one\"\nC:\\temp"),
+                Map.of("issueIdOrKey", "MISSING-1", "body", "lost"),
+                Map.of("issueIdOrKey", "PROJ-2"),
+                Map.of("issueIdOrKey", "PROJ-3", "body", "resolved")
+            ), false);
+            RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+            CreateComments.Output output = task.run(runContext);
+
+            assertThat(output.getSucceeded(), is(2L));
+            assertThat(output.getFailed(), is(2L));
+            // the body reaches Jira unchanged, whatever it holds
+            assertThat(jira.bodies.get("PROJ-1"), is("Line \"one\"\nC:\\temp"));
+            assertThat(jira.bodies.get("PROJ-3"), is("resolved"));
+
+            List<Map<String, Object>> results = results(runContext, output);
+            assertThat(results.stream().map(result -> ((Number) result.get("row")).intValue()).toList(), is(List.of(0, 1, 2, 3)));
+
+            assertThat(results.get(0).get("issueIdOrKey"), is("PROJ-1"));
+            assertThat(results.get(0).get("id"), is("1"));
+            assertThat(results.get(0).get("self"), is("http://localhost/rest/api/2/issue/PROJ-1/comment/1"));
+            assertThat(results.get(0).get("error"), nullValue());
+
+            assertThat(((Number) results.get(1).get("status")).intValue(), is(404));
+            assertThat(results.get(1).get("id"), nullValue());
+
+            // a row without a body fails on its own, without a request
+            assertThat(String.valueOf(results.get(2).get("error")), containsString("'issueIdOrKey' and 'body'"));
+            assertThat(jira.bodies.containsKey("PROJ-2"), is(false));
+
+            assertThat(results.get(3).get("issueIdOrKey"), is("PROJ-3"));
+        }
+    }
+
+    @Test
+    void failFast() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            CreateComments task = jira.createComments(List.of(
+                Map.of("issueIdOrKey", "MISSING-1", "body", "lost")
+            ), true);
+
+            assertThrows(Exception.class, () -> task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of())));
+        }
+    }
+
+    @Test
+    void escapesBody() throws IOException {
+        assertThat(PayloadTemplates.jsonString("Line \"one\"\nC:\\temp"), is("Line \\\"one\\\"\\nC:\\\\temp"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> results(RunContext runContext, CreateComments.Output output) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri()), StandardCharsets.UTF_8))) {
+            return FileSerde.readAll(reader).map(row -> (Map<String, Object>) row).collectList().block();
+        }
+    }
+
+    /**
+     * Serves the comment route of every issue, except the issues of the `MISSING` project which are answered with a
+     * 404, recording the body of every comment.
+     */
+    private static class FakeJira implements AutoCloseable {
+        private final HttpServer server;
+
+        private final AtomicInteger created = new AtomicInteger();
+
+        private final Map<String, Object> bodies = new ConcurrentHashMap<>();
+
+        private FakeJira() throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/rest/api/2/issue/", exchange -> {
+                Map<String, Object> request = JacksonMapper.toMap(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                String issueKey = exchange.getRequestURI().getPath().split("/")[5];
+
+                if (issueKey.startsWith("MISSING-")) {
+                    respond(exchange, 404, "{\"errorMessages\": [\"Issue does not exist or you do not have permission to see it.\"]}");
+                    return;
+                }
+
+                this.bodies.put(issueKey, request.get("body"));
+                int id = this.created.incrementAndGet();
+                respond(exchange, 201, JacksonMapper.ofJson().writeValueAsString(Map.of(
+                    "id", String.valueOf(id),
+                    "self", "http://localhost/rest/api/2/issue/" + issueKey + "/comment/" + id,
+                    "body", request.get("body")
+                )));
+            });
+            this.server.start();
+        }
+
+        private static void respond(HttpExchange exchange, int status, String response) throws IOException {
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+
+        private CreateComments createComments(List<Map<String, Object>> rows, boolean failFast) {
+            return CreateComments.builder()
+                .id("create_comments")
+                .type(CreateComments.class.getName())
+                .baseUrl("http://localhost:" + this.server.getAddress().getPort())
+                .username(Property.ofValue("jane@example.com"))
+                .password(Property.ofValue("token"))
+                .from(rows)
+                .concurrency(Property.ofValue(1))
+                .failFast(Property.ofValue(failFast))
+                .build();
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+    }
+}
@@ -1,22 +1,36 @@
 package io.kestra.plugin.jira.issues;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.sun.net.httpserver.HttpServer;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
 import io.kestra.core.queues.QueueException;
 import io.kestra.core.repositories.LocalFlowRepositoryLoader;
+import io.kestra.core.runners.RunContextFactory;
 import io.kestra.core.runners.TestRunner;
 import io.kestra.core.runners.TestRunnerUtils;
+import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.tenant.TenantService;
+import io.kestra.core.utils.TestsUtils;
 
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.runtime.server.EmbeddedServer;
@@ -24,6 +38,8 @@ import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 @KestraTest
 class CreateTest {
@@ -40,6 +56,9 @@ class CreateTest {
     @Inject
     protected LocalFlowRepositoryLoader repositoryLoader;
 
+    @Inject
+    private RunContextFactory runContextFactory;
+
     @BeforeEach
     void init() throws IOException, URISyntaxException {
         repositoryLoader.load(Objects.requireNonNull(CreateTest.class.getClassLoader().getResource("flows")));
@@ -61,4 +80,130 @@ class CreateTest {
 
         assertThat(execution.getTaskRunList(), hasSize(3));
     }
+
+    @Test
+    void dedupReturnExisting() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            Create task = jira.create("Disk full " + System.nanoTime(), Create.DedupMode.RETURN_EXISTING);
+
+            Create.Output first = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+            Create.Output second = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            assertThat(first.getKey(), is("PROJ-1"));
+            assertThat(first.getDuplicate(), nullValue());
+            assertThat(second.getKey(), is("PROJ-1"));
+            assertThat(second.getDuplicate(), is(true));
+            assertThat(jira.created.get(), is(1));
+            assertThat(jira.comments.get(), is(0));
+        }
+    }
+
+    @Test
+    void dedupComment() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            Create task = jira.create("Disk full " + System.nanoTime(), Create.DedupMode.COMMENT);
+
+            task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+            Create.Output second = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            assertThat(second.getKey(), is("PROJ-1"));
+            assertThat(second.getDuplicate(), is(true));
+            assertThat(jira.created.get(), is(1));
+            assertThat(jira.comments.get(), is(1));
+
+            // the stored issue was deleted, a new one is created and stored instead
+            jira.deleted.add("PROJ-1");
+            Create.Output third = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+            Create.Output fourth = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            assertThat(third.getKey(), is("PROJ-2"));
+            assertThat(third.getDuplicate(), nullValue());
+            assertThat(fourth.getKey(), is("PROJ-2"));
+            assertThat(jira.created.get(), is(2));
+            assertThat(jira.comments.get(), is(2));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void escapeTemplateValues() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            Create task = jira.builder("Flow \"etl\" failed", Create.DedupMode.NONE)
+                .description("java.lang.IllegalStateException: \"boom\"\n\tat C:\\app\\Main.java")
+                .labels(Property.ofValue(List.of("say \"hi\"")))
+                .build();
+
+            Create.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            assertThat(output.getKey(), is("PROJ-1"));
+            Map<String, Object> fields = (Map<String, Object>) JacksonMapper.toMap(jira.bodies.getFirst()).get("fields");
+            assertThat(fields.get("summary"), is("Flow \"etl\" failed"));
+            assertThat(fields.get("description"), is("java.lang.IllegalStateException: \"boom\"\n\tat C:\\app\\Main.java"));
+            assertThat(fields.get("labels"), is(List.of("kestra-bot", "say \"hi\"")));
+        }
+    }
+
+    /**
+     * Serves the issue and comment creation routes, answering 404 for the comments of deleted issues.
+     */
+    private static class FakeJira implements AutoCloseable {
+        private final HttpServer server;
+
+        private final AtomicInteger created = new AtomicInteger();
+
+        private final AtomicInteger comments = new AtomicInteger();
+
+        private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+
+        private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+        private FakeJira() throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/rest/api/2/issue/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                this.bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+                String response;
+                int status;
+                if (path.endsWith("/comment")) {
+                    String issueKey = path.split("/")[5];
+                    status = this.deleted.contains(issueKey) ? 404 : 201;
+                    response = status == 404 ? "{\"errorMessages\": [\"Issue does not exist\"]}" : "{\"id\": \"" + this.comments.incrementAndGet() + "\"}";
+                } else {
+                    int id = this.created.incrementAndGet();
+                    status = 201;
+                    response = "{\"id\": \"1000" + id + "\", \"key\": \"PROJ-" + id + "\", \"self\": \"http://localhost/rest/api/2/issue/1000" + id + "\"}";
+                }
+
+                byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, bytes.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(bytes);
+                }
+            });
+            this.server.start();
+        }
+
+        private Create create(String summary, Create.DedupMode dedupMode) {
+            return this.builder(summary, dedupMode).build();
+        }
+
+        private Create.CreateBuilder<?, ?> builder(String summary, Create.DedupMode dedupMode) {
+            return Create.builder()
+                .id("create_issue")
+                .type(Create.class.getName())
+                .baseUrl("http://localhost:" + this.server.getAddress().getPort())
+                .username(Property.ofValue("jane@example.com"))
+                .password(Property.ofValue("token"))
+                .projectKey("PROJ")
+                .summary(Property.ofValue(summary))
+                .dedupMode(Property.ofValue(dedupMode));
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+public class DownloadAttachmentsTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void downloadAndSkip() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            DownloadAttachments task = jira.downloadAttachments();
+            RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+            DownloadAttachments.Output output = task.run(runContext);
+
+            assertThat(output.getDownloaded(), is(3L));
+            assertThat(output.getSkipped(), is(0L));
+            assertThat(output.getSize(), is(13L + 2048L + 4L));
+            // a single search for both issues, only asking for the attachments
+            assertThat(jira.searches, is(List.of(Map.of(
+                "jql", "issue in (\"INC-1\", \"INC-2\")",
+                "fields", List.of("attachment")
+            ))));
+
+            List<Map<String, Object>> rows = manifest(runContext, output);
+            assertThat(rows.stream().map(row -> row.get("id")).toList(), is(List.of(jira.id(1), jira.id(2), jira.id(3))));
+            assertThat(rows.get(0).get("issueKey"), is("INC-1"));
+            assertThat(rows.get(0).get("skipped"), is(false));
+            assertThat((String) rows.get(1).get("uri"), endsWith(jira.id(2) + "-dump.bin"));
+            assertThat(rows.get(2).get("issueKey"), is("INC-2"));
+            try (InputStream content = runContext.storage().getFile(URI.create(String.valueOf(rows.get(0).get("uri"))))) {
+                assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8), is("line 1\nline 2"));
+            }
+
+            // the files are still in internal storage, so the next run does not download them again
+            DownloadAttachments.Output again = task.run(runContext);
+
+            assertThat(again.getDownloaded(), is(0L));
+            assertThat(again.getSkipped(), is(3L));
+            assertThat(again.getSize(), is(0L));
+            assertThat(jira.downloads, is(Map.of(jira.id(1), 1, jira.id(2), 1, jira.id(3), 1)));
+            assertThat(manifest(runContext, again).stream().map(row -> row.get("uri")).toList(), is(rows.stream().map(row -> row.get("uri")).toList()));
+        }
+    }
+
+    @Test
+    void attachments() {
+        Map<String, Object> issue = Map.of(
+            "key", "INC-1",
+            "fields", Map.of("attachment", List.of(
+                Map.of("id", "10001", "filename", "logs.txt", "mimeType", "text/plain", "size", 1024),
+                Map.of("id", 10002, "filename", "dump.bin", "size", 2048L)
+            ))
+        );
+
+        List<Map<String, Object>> attachments = DownloadAttachments.attachments(issue);
+
+        assertThat(attachments, hasSize(2));
+        assertThat(attachments.get(0).get("issueKey"), is("INC-1"));
+        assertThat(attachments.get(0).get("size"), is(1024L));
+        assertThat(attachments.get(1).get("id"), is("10002"));
+        assertThat(DownloadAttachments.attachments(Map.of("key", "INC-2", "fields", Map.of())), hasSize(0));
+    }
+
+    @Test
+    void fileName() {
+        assertThat(DownloadAttachments.fileName("10001", "logs.txt"), is("10001-logs.txt"));
+        assertThat(DownloadAttachments.fileName("10001", "../../etc/passwd"), is("10001-passwd"));
+        assertThat(DownloadAttachments.fileName("10001", "..\\report 2024:v1.pdf"), is("10001-report_2024_v1.pdf"));
+        assertThat(DownloadAttachments.fileName("10001", ".."), is("10001-_"));
+        assertThat(DownloadAttachments.fileName("10001", "dir/"), is("10001-attachment"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> manifest(RunContext runContext, DownloadAttachments.Output output) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri()), StandardCharsets.UTF_8))) {
+            return FileSerde.readAll(reader).map(row -> (Map<String, Object>) row).collectList().block();
+        }
+    }
+
+    /**
+     * Serves the search of the issues INC-1, with two attachments, and INC-2, with one, and the content of these
+     * attachments, recording every search and counting the downloads of every attachment. Attachment ids are unique to
+     * the instance, since the downloads are remembered in the namespace KV store across test runs.
+     */
+    private static class FakeJira implements AutoCloseable {
+        private final HttpServer server;
+
+        private final String prefix = String.valueOf(System.currentTimeMillis());
+
+        private final List<Map<String, Object>> searches = new CopyOnWriteArrayList<>();
+
+        private final Map<String, Integer> downloads = new ConcurrentHashMap<>();
+
+        private FakeJira() throws IOException {
+            Map<String, byte[]> contents = Map.of(
+                this.id(1), "line 1\nline 2".getBytes(StandardCharsets.UTF_8),
+                this.id(2), new byte[2048],
+                this.id(3), "done".getBytes(StandardCharsets.UTF_8)
+            );
+
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/rest/api/2/search/jql", exchange -> {
+                Map<String, Object> request = JacksonMapper.toMap(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                this.searches.add(Map.of("jql", request.get("jql"), "fields", request.get("fields")));
+
+                respond(exchange, JacksonMapper.ofJson().writeValueAsString(Map.of(
+                    "issues", List.of(
+                        Map.of("key", "INC-1", "fields", Map.of("attachment", List.of(
+                            this.attachment(1, "logs.txt", contents),
+                            this.attachment(2, "../dump.bin", contents)
+                        ))),
+                        Map.of("key", "INC-2", "fields", Map.of("attachment", List.of(
+                            this.attachment(3, "notes.txt", contents)
+                        )))
+                    ),
+                    "isLast", true
+                )).getBytes(StandardCharsets.UTF_8), "application/json");
+            });
+            this.server.createContext("/rest/api/2/attachment/content/", exchange -> {
+                String id = exchange.getRequestURI().getPath().substring("/rest/api/2/attachment/content/".length());
+                this.downloads.merge(id, 1, Integer::sum);
+
+                respond(exchange, contents.get(id), "application/octet-stream");
+            });
+            this.server.start();
+        }
+
+        private String id(int index) {
+            return this.prefix + index;
+        }
+
+        private Map<String, Object> attachment(int index, String filename, Map<String, byte[]> contents) {
+            return Map.of("id", this.id(index), "filename", filename, "mimeType", "text/plain", "size", contents.get(this.id(index)).length);
+        }
+
+        private static void respond(HttpExchange exchange, byte[] bytes, String contentType) throws IOException {
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+
+        private DownloadAttachments downloadAttachments() {
+            return DownloadAttachments.builder()
+                .id("download_attachments")
+                .type(DownloadAttachments.class.getName())
+                .baseUrl("http://localhost:" + this.server.getAddress().getPort())
+                .username(Property.ofValue("jane@example.com"))
+                .password(Property.ofValue("token"))
+                .issueIdOrKeys(Property.ofValue(List.of("INC-1", "INC-2")))
+                .concurrency(Property.ofValue(2))
+                .build();
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+    }
+}
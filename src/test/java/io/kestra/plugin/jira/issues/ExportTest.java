@@ -0,0 +1,55 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ExportTest {
+    @Test
+    void columns() {
+        Map<String, JiraMetadata.Field> metadata = Map.of(
+            "customfield_10020", new JiraMetadata.Field("customfield_10020", "Sprint", "array", "json"),
+            "customfield_10016", new JiraMetadata.Field("customfield_10016", "Story Points", "number", null)
+        );
+        Map<String, Object> issue = Map.of(
+            "key", "PROJ-1",
+            "fields", Map.of(
+                "status", Map.of("name", "Done", "id", "10001"),
+                "assignee", Map.of("displayName", "Jane Doe", "accountId", "5b10"),
+                "customfield_10016", 5,
+                "customfield_10020", List.of(Map.of("id", 1, "name", "Sprint 1"), Map.of("id", 2, "name", "Sprint 2")),
+                "labels", List.of("backend", "urgent")
+            )
+        );
+
+        assertThat(Export.Column.of("key", metadata).value(issue), is("PROJ-1"));
+        assertThat(Export.Column.of("status", metadata).value(issue), is("Done"));
+        assertThat(Export.Column.of("assignee.displayName", metadata).value(issue), is("Jane Doe"));
+        assertThat(Export.Column.of("Story Points", metadata).value(issue), is(5));
+        assertThat(Export.Column.of("Sprint.name", metadata).value(issue), is(List.of("Sprint 1", "Sprint 2")));
+        assertThat(Export.Column.of("labels", metadata).value(issue), is(List.of("backend", "urgent")));
+        assertThat(Export.Column.of("reporter.displayName", metadata).value(issue), nullValue());
+
+        Map<String, Object> server = Map.of("fields", Map.of(
+            "customfield_10020", List.of("com.atlassian.greenhopper.service.sprint.Sprint@14b1c359[id=1,rapidViewId=1,state=CLOSED,name=Sprint 1,goal=<null>]")
+        ));
+        assertThat(Export.Column.of("Sprint.name", metadata).value(server), is(List.of("Sprint 1")));
+        assertThat(Export.Column.of("Sprint.goal", metadata).value(server), is(List.of()));
+    }
+
+    @Test
+    void csv() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        Export.writeCsvLine(writer, List.of("PROJ-1", "Fix \"login\", again", "multi\nline", ""));
+
+        assertThat(writer.toString(), is("PROJ-1,\"Fix \"\"login\"\", again\",\"multi\nline\",\r\n"));
+    }
+}
@@ -0,0 +1,97 @@
+package io.kestra.plugin.jira.issues;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class FetchHierarchyTest {
+    @Test
+    void graph() {
+        FetchHierarchy.Graph graph = new FetchHierarchy.Graph(EnumSet.allOf(FetchHierarchy.Relation.class), Set.of());
+
+        Map<String, Object> epic = issue("PROJ-1", Map.of(
+            "issuetype", Map.of("name", "Epic", "subtask", false),
+            "issuelinks", List.of(Map.of("type", Map.of("name", "Blocks"), "outwardIssue", Map.of("key", "OTHER-7")))
+        ));
+        assertThat(graph.visit(epic), is(Set.of("OTHER-7")));
+
+        // a story of the epic, found by `parent in (PROJ-1)`, with a subtask and the inward side of a link
+        Map<String, Object> story = issue("PROJ-2", Map.of(
+            "issuetype", Map.of("name", "Story", "subtask", false),
+            "parent", Map.of("key", "PROJ-1"),
+            "subtasks", List.of(Map.of("key", "PROJ-3")),
+            "issuelinks", List.of(Map.of("type", Map.of("name", "Relates"), "inwardIssue", Map.of("key", "PROJ-9")))
+        ));
+        assertThat(graph.visit(story), is(Set.of("PROJ-1", "PROJ-3", "PROJ-9")));
+
+        Map<String, Object> subtask = issue("PROJ-3", Map.of(
+            "issuetype", Map.of("name", "Sub-task", "subtask", true),
+            "parent", Map.of("key", "PROJ-2")
+        ));
+        graph.visit(subtask);
+        assertThat(FetchHierarchy.subtask(subtask), is(true));
+
+        // the subtask relation is seen from both sides but reported once, relations to unvisited issues are left out
+        assertThat(graph.size(), is(3));
+        assertThat(graph.edges(), is(List.of(
+            new FetchHierarchy.Edge("PROJ-1", "PROJ-2", FetchHierarchy.Relation.CHILDREN, null),
+            new FetchHierarchy.Edge("PROJ-2", "PROJ-3", FetchHierarchy.Relation.SUBTASKS, null)
+        )));
+    }
+
+    @Test
+    void linkTypes() {
+        FetchHierarchy.Graph graph = new FetchHierarchy.Graph(EnumSet.of(FetchHierarchy.Relation.LINKS), Set.of("blocks"));
+
+        Map<String, Object> issue = issue("PROJ-1", Map.of(
+            "parent", Map.of("key", "PROJ-0"),
+            "issuelinks", List.of(
+                Map.of("type", Map.of("name", "Blocks"), "inwardIssue", Map.of("key", "PROJ-5")),
+                Map.of("type", Map.of("name", "Relates"), "outwardIssue", Map.of("key", "PROJ-6"))
+            )
+        ));
+
+        assertThat(graph.visit(issue), is(Set.of("PROJ-5")));
+        graph.visit(issue("PROJ-5", Map.of()));
+        assertThat(graph.edges(), is(List.of(new FetchHierarchy.Edge("PROJ-5", "PROJ-1", FetchHierarchy.Relation.LINKS, "Blocks"))));
+    }
+
+    @Test
+    void queries() {
+        List<String> keys = IntStream.rangeClosed(1, 150).mapToObj(i -> "PROJ-" + i).toList();
+
+        List<String> queries = FetchHierarchy.queries("parent", keys);
+
+        assertThat(queries.size(), is(2));
+        assertThat(queries.get(1), is(keys.subList(100, 150).stream().map(key -> "\"" + key + "\"").collect(Collectors.joining(", ", "parent in (", ") ORDER BY key"))));
+
+        Map<String, Object> node = FetchHierarchy.node(issue("PROJ-1", Map.of("summary", "Epic", "status", Map.of("name", "Done"))), 0, List.of("summary"));
+        assertThat(node.get("kind"), is("NODE"));
+        assertThat(node.get("fields"), is(Map.of("summary", "Epic")));
+    }
+
+    @Test
+    void rejectedKeys() {
+        String body = """
+            {"errorMessages": ["An issue with key 'PROJ-10' does not exist for field 'issue'."], "warningMessages": []}
+            """;
+
+        assertThat(FetchHierarchy.rejectedKeys(body, List.of("PROJ-1", "PROJ-10", "PROJ-100")), is(List.of("PROJ-10")));
+        assertThat(FetchHierarchy.rejectedKeys(body.getBytes(StandardCharsets.UTF_8), List.of("PROJ-10")), is(List.of("PROJ-10")));
+        assertThat(FetchHierarchy.rejectedKeys("{\"errorMessages\": [\"Error in the JQL Query\"]}", List.of("PROJ-1")), is(List.of()));
+        assertThat(FetchHierarchy.rejectedKeys(null, List.of("PROJ-1")), is(List.of()));
+    }
+
+    private static Map<String, Object> issue(String key, Map<String, Object> fields) {
+        return Map.of("key", key, "id", "1" + key.substring(key.indexOf('-') + 1), "fields", fields);
+    }
+}
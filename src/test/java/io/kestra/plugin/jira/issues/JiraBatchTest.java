@@ -0,0 +1,117 @@
+package io.kestra.plugin.jira.issues;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JiraBatchTest {
+    @Test
+    void keepsInputOrderAndBoundsConcurrency() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> outputs = new ArrayList<>();
+
+        JiraBatch.Summary summary = JiraBatch.run(
+            IntStream.range(0, 50).boxed().toList(),
+            5,
+            false,
+            item -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                // later items finish first
+                Thread.sleep(50 - item);
+                inFlight.decrementAndGet();
+                return item * 2;
+            },
+            result -> outputs.add(result.output())
+        );
+
+        assertThat(summary.succeeded(), is(50L));
+        assertThat(summary.failed(), is(0L));
+        assertThat(outputs, is(IntStream.range(0, 50).mapToObj(i -> i * 2).toList()));
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(5));
+    }
+
+    @Test
+    void continueAndReport() throws Exception {
+        List<String> errors = new ArrayList<>();
+
+        JiraBatch.Summary summary = JiraBatch.run(
+            List.of("A-1", "A-2", "A-3"),
+            2,
+            false,
+            key -> {
+                if (key.equals("A-2")) {
+                    throw new IllegalArgumentException("Issue does not exist");
+                }
+                return key;
+            },
+            result -> {
+                if (result.failed()) {
+                    errors.add(result.index() + ":" + result.item() + ":" + result.error().getMessage());
+                }
+            }
+        );
+
+        assertThat(summary.succeeded(), is(2L));
+        assertThat(summary.failed(), is(1L));
+        assertThat(errors, contains("1:A-2:Issue does not exist"));
+    }
+
+    @Test
+    void failFast() {
+        AtomicInteger started = new AtomicInteger();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> JiraBatch.run(
+            IntStream.range(0, 100).boxed().toList(),
+            2,
+            true,
+            item -> {
+                started.incrementAndGet();
+                if (item == 1) {
+                    throw new IllegalArgumentException("boom");
+                }
+                return item;
+            },
+            result -> {}
+        ));
+
+        assertThat(e.getMessage(), containsString("Item 1 failed: boom"));
+        assertThat(started.get(), lessThanOrEqualTo(4));
+    }
+
+    @Test
+    void readsItemsLazily() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+
+        Iterable<Integer> items = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < 1_000;
+            }
+
+            @Override
+            public Integer next() {
+                maxAhead.accumulateAndGet(read.get() - consumed.get(), Math::max);
+                return read.getAndIncrement();
+            }
+        };
+
+        JiraBatch.run(items, 3, false, item -> item, result -> consumed.incrementAndGet());
+
+        assertThat(consumed.get(), is(1_000));
+        assertThat(maxAhead.get(), lessThanOrEqualTo(3));
+    }
+}
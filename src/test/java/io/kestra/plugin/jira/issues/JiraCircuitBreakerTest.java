@@ -0,0 +1,119 @@
+package io.kestra.plugin.jira.issues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static io.kestra.plugin.jira.issues.JiraCircuitBreaker.Result.FAILURE;
+import static io.kestra.plugin.jira.issues.JiraCircuitBreaker.Result.IGNORED;
+import static io.kestra.plugin.jira.issues.JiraCircuitBreaker.Result.SUCCESS;
+import static io.kestra.plugin.jira.issues.JiraCircuitBreaker.State.CLOSED;
+import static io.kestra.plugin.jira.issues.JiraCircuitBreaker.State.HALF_OPEN;
+import static io.kestra.plugin.jira.issues.JiraCircuitBreaker.State.OPEN;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class JiraCircuitBreakerTest {
+    private static final long FAST = Duration.ofMillis(100).toNanos();
+
+    private static final long SLOW = Duration.ofSeconds(15).toNanos();
+
+    private final List<JiraCircuitBreaker.State> transitions = new ArrayList<>();
+
+    private final JiraCircuitBreaker breaker = new JiraCircuitBreaker("https://breaker.atlassian.net", Duration.ofSeconds(30), Duration.ofSeconds(10));
+
+    @Test
+    void sharedPerCredentialAndSettings() {
+        String baseUrl = "https://shared-breaker.atlassian.net";
+        JiraCircuitBreaker breaker = JiraCircuitBreaker.of(baseUrl, "basic:jane", Duration.ofSeconds(30), Duration.ofSeconds(10));
+
+        assertThat(JiraCircuitBreaker.of(baseUrl + "/", "basic:jane", Duration.ofSeconds(30), Duration.ofSeconds(10)), sameInstance(breaker));
+        assertThat(JiraCircuitBreaker.of(baseUrl, "basic:john", Duration.ofSeconds(30), Duration.ofSeconds(10)), not(sameInstance(breaker)));
+        // other settings get their own breaker instead of changing the settings of this one
+        assertThat(JiraCircuitBreaker.of(baseUrl, "basic:jane", Duration.ofMinutes(5), Duration.ofSeconds(10)), not(sameInstance(breaker)));
+        assertThat(JiraCircuitBreaker.of(baseUrl, "basic:jane", Duration.ofSeconds(30), Duration.ofSeconds(10)), sameInstance(breaker));
+    }
+
+    @Test
+    void opensOnFailureRate() {
+        long now = 0;
+
+        // failures alone do not open the breaker before the minimum number of calls
+        for (int i = 0; i < JiraCircuitBreaker.MINIMUM_CALLS - 1; i++) {
+            this.call(now, i % 2 == 0 ? FAILURE : SUCCESS, FAST);
+        }
+        assertThat(this.breaker.state(), is(CLOSED));
+
+        this.call(now, SUCCESS, FAST);
+        assertThat(this.breaker.state(), is(OPEN));
+        assertThat(this.transitions, is(List.of(OPEN)));
+        assertThat(this.breaker.rejection(), containsString("10 of the last 20 requests failed"));
+
+        assertThat(this.breaker.tryAcquire(now + Duration.ofSeconds(29).toNanos(), this.transitions::add), is(false));
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        for (int i = 0; i < JiraCircuitBreaker.MINIMUM_CALLS; i++) {
+            this.call(0, SUCCESS, i < 4 ? FAST : SLOW);
+        }
+
+        assertThat(this.breaker.state(), is(OPEN));
+        assertThat(this.breaker.rejection(), containsString("16 of the last 20 requests took more than PT10S"));
+    }
+
+    @Test
+    void ignoresOldAndThrottledCalls() {
+        for (int i = 0; i < 15; i++) {
+            this.call(0, FAILURE, FAST);
+        }
+
+        // the failures have left the window, and 429s say nothing about the health of Jira
+        long later = JiraCircuitBreaker.WINDOW.toNanos() + 1;
+        for (int i = 0; i < JiraCircuitBreaker.MINIMUM_CALLS; i++) {
+            this.call(later, i < 9 ? FAILURE : SUCCESS, FAST);
+            this.call(later, IGNORED, FAST);
+        }
+
+        assertThat(this.breaker.state(), is(CLOSED));
+    }
+
+    @Test
+    void halfOpen() {
+        for (int i = 0; i < JiraCircuitBreaker.MINIMUM_CALLS; i++) {
+            this.call(0, FAILURE, FAST);
+        }
+        long reopen = Duration.ofSeconds(30).toNanos();
+
+        // a failed trial opens the breaker again
+        assertThat(this.breaker.tryAcquire(reopen, this.transitions::add), is(true));
+        assertThat(this.breaker.state(), is(HALF_OPEN));
+        this.breaker.onResult(reopen, FAST, FAILURE, this.transitions::add);
+        assertThat(this.breaker.state(), is(OPEN));
+
+        // only a few trials are let through, and the breaker closes once they all succeed
+        long retry = reopen * 2;
+        for (int i = 0; i < JiraCircuitBreaker.HALF_OPEN_CALLS; i++) {
+            assertThat(this.breaker.tryAcquire(retry, this.transitions::add), is(true));
+        }
+        assertThat(this.breaker.tryAcquire(retry, this.transitions::add), is(false));
+
+        for (int i = 0; i < JiraCircuitBreaker.HALF_OPEN_CALLS; i++) {
+            this.breaker.onResult(retry, FAST, SUCCESS, this.transitions::add);
+        }
+
+        assertThat(this.breaker.state(), is(CLOSED));
+        assertThat(this.transitions, is(List.of(OPEN, HALF_OPEN, OPEN, HALF_OPEN, CLOSED)));
+        assertThat(this.breaker.tryAcquire(retry, this.transitions::add), is(true));
+    }
+
+    private void call(long now, JiraCircuitBreaker.Result result, long duration) {
+        assertThat(this.breaker.tryAcquire(now, this.transitions::add), is(true));
+        this.breaker.onResult(now, duration, result, this.transitions::add);
+    }
+}
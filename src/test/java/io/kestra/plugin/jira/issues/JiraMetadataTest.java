@@ -0,0 +1,76 @@
+package io.kestra.plugin.jira.issues;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JiraMetadataTest {
+    private static final String FIELDS = """
+        [
+          {"id": "summary", "name": "Summary", "schema": {"type": "string"}},
+          {"id": "priority", "name": "Priority", "schema": {"type": "priority"}},
+          {"id": "customfield_10016", "name": "Story Points", "schema": {"type": "number"}},
+          {"id": "customfield_10020", "name": "Team", "schema": {"type": "option"}},
+          {"id": "customfield_10021", "name": "Team", "schema": {"type": "string"}}
+        ]
+        """;
+
+    @Test
+    void resolve() throws Exception {
+        Map<String, JiraMetadata.Field> fields = JiraMetadata.parseFields(JacksonMapper.ofJson().readTree(FIELDS));
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("summary", "Updated");
+        values.put("story points", 5);
+        values.put("priority", Map.of("name", "High"));
+
+        Map<String, Object> resolved = JiraMetadata.resolve(values, fields, true);
+        assertThat(resolved.keySet().stream().toList(), is(List.of("summary", "customfield_10016", "priority")));
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> JiraMetadata.resolve(Map.of("Story Points", "five", "Team", "A", "Sprintt", 1), fields, true)
+        );
+        assertThat(exception.getMessage(), containsString("expects a number"));
+        assertThat(exception.getMessage(), containsString("'Team' is ambiguous"));
+        assertThat(exception.getMessage(), containsString("unknown field 'Sprintt'"));
+
+        assertThat(JiraMetadata.allFieldIds(List.of("summary", "fixVersions", "customfield_10016")), is(true));
+        assertThat(JiraMetadata.allFieldIds(List.of("Story Points")), is(false));
+    }
+
+    @Test
+    void issueTypes() throws Exception {
+        JsonNode response = JacksonMapper.ofJson().readTree("""
+            {"issueTypes": [{"id": "10001", "name": "Bug"}, {"id": "10002", "name": "Task"}]}
+            """);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(JiraMetadata.issueTypeId("https://test.atlassian.net", "PROJ", "bug", Duration.ofMinutes(1), () -> {
+                loads.incrementAndGet();
+                return response;
+            }), is("10001"));
+        }
+        assertThat(loads.get(), is(1));
+
+        assertThat(JiraMetadata.issueTypeId("https://test.atlassian.net", "PROJ", "10005", Duration.ofMinutes(1), () -> response), is("10005"));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> JiraMetadata.issueTypeId("https://test.atlassian.net", "PROJ", "Epic", Duration.ofMinutes(1), () -> response)
+        );
+    }
+}
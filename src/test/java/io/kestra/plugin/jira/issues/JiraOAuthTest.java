@@ -0,0 +1,213 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.core.utils.Rethrow;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class JiraOAuthTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void parse() throws Exception {
+        JiraOAuth.Token token = JiraOAuth.parse(JacksonMapper.ofJson().readTree("""
+            {"access_token": "eyJ", "expires_in": 3600, "token_type": "Bearer", "refresh_token": "rotated"}
+            """));
+
+        assertThat(token.accessToken(), is("eyJ"));
+        assertThat(token.expiresIn(), is(Duration.ofHours(1)));
+        assertThat(token.refreshToken(), is("rotated"));
+
+        JiraOAuth.Token withoutExpiry = JiraOAuth.parse(JacksonMapper.ofJson().readTree("{\"access_token\": \"eyJ\"}"));
+        assertThat(withoutExpiry.expiresIn(), is(JiraOAuth.DEFAULT_EXPIRES_IN));
+        assertThat(withoutExpiry.refreshToken(), nullValue());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> JiraOAuth.parse(
+            JacksonMapper.ofJson().readTree("{\"error\": \"invalid_grant\", \"error_description\": \"Unknown or invalid refresh token.\"}")
+        ));
+        assertThat(e.getMessage(), containsString("Unknown or invalid refresh token."));
+    }
+
+    @Test
+    void earlyRefresh() {
+        assertThat(JiraOAuth.ttl(new JiraOAuth.Token("a", Duration.ofHours(1), null)), is(Duration.ofMinutes(59)));
+        assertThat(JiraOAuth.ttl(new JiraOAuth.Token("a", Duration.ofSeconds(100), null)), is(Duration.ofSeconds(90)));
+    }
+
+    @Test
+    void basicHeader() throws Exception {
+        String header = JiraCredentials.basic("user@example.com", "api-token").authorization();
+
+        assertThat(header, is("Basic dXNlckBleGFtcGxlLmNvbTphcGktdG9rZW4="));
+        assertThat(JiraCredentials.basic("user@example.com", "api-token").refresh(header), is(false));
+    }
+
+    @Test
+    void secretsKeptOutOfKeysAndLogs() {
+        JiraOAuth.Client client = new JiraOAuth.Client(JiraOAuth.DEFAULT_TOKEN_URL, "my-client", "client-secret", "refresh-token", List.of("read:jira-work"), false);
+
+        assertThat(client.key(), not(containsString("secret")));
+        assertThat(client.key(), not(containsString("refresh-token")));
+        assertThat(client.key(), not(is(new JiraOAuth.Client(JiraOAuth.DEFAULT_TOKEN_URL, "my-client", "client-secret", "other-token", List.of("read:jira-work"), false).key())));
+        assertThat(client.toString(), not(containsString("client-secret")));
+        assertThat(client.toString(), not(containsString("refresh-token")));
+        assertThat(new JiraOAuth.Token("eyJ", Duration.ofHours(1), "rotated").toString(), not(containsString("eyJ")));
+    }
+
+    @Test
+    void rotatedRefreshTokenKeptInMemory() throws Exception {
+        try (FakeTokenServer server = new FakeTokenServer(Map.of("r0", "r1", "r1", "r2"))) {
+            RunContext runContext = this.runContext();
+            JiraOAuth.Client client = server.client(false);
+
+            assertThat(JiraOAuth.accessToken(runContext, null, client), is("access-r0"));
+            JiraOAuth.reject(client, "access-r0");
+            assertThat(JiraOAuth.accessToken(runContext, null, client), is("access-r1"));
+
+            assertThat(server.refreshTokens, is(List.of("r0", "r1")));
+            // nothing is written to the namespace KV store unless the client opts in
+            assertThat(this.stored(runContext, client).isPresent(), is(false));
+        }
+    }
+
+    @Test
+    void invalidGrantRetriedWithRotatedToken() throws Exception {
+        RunContext runContext = this.runContext();
+
+        try (FakeTokenServer server = new FakeTokenServer(Map.of("r1", "r2"))) {
+            JiraOAuth.Client client = server.client(true);
+            // another worker rotates the configured token while this one is still using it
+            server.onInvalidGrant = () -> runContext.namespaceKv(runContext.flowInfo().namespace()).put(
+                JiraOAuth.ROTATED_REFRESH_TOKEN_KV_PREFIX + client.key(),
+                new KVValueAndMetadata(new KVMetadata("Rotated by another worker", Duration.ofMinutes(1)), "r1")
+            );
+
+            assertThat(JiraOAuth.accessToken(runContext, null, client), is("access-r1"));
+
+            assertThat(server.refreshTokens, is(List.of("r0", "r1")));
+            assertThat(this.stored(runContext, client).map(KVValue::value), is(Optional.of("r2")));
+        }
+    }
+
+    @Test
+    void invalidGrantWithoutRotation() throws Exception {
+        try (FakeTokenServer server = new FakeTokenServer(Map.of())) {
+            RunContext runContext = this.runContext();
+            JiraOAuth.Client client = server.client(false);
+
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> JiraOAuth.accessToken(runContext, null, client));
+
+            assertThat(e.getMessage(), containsString("Unknown or invalid refresh token."));
+            assertThat(server.refreshTokens, is(List.of("r0")));
+        }
+    }
+
+    private RunContext runContext() {
+        return TestsUtils.mockRunContext(this.runContextFactory, Search.builder().id("oauth").type(Search.class.getName()).build(), Map.of());
+    }
+
+    private Optional<KVValue> stored(RunContext runContext, JiraOAuth.Client client) throws Exception {
+        return runContext.namespaceKv(runContext.flowInfo().namespace()).getValue(JiraOAuth.ROTATED_REFRESH_TOKEN_KV_PREFIX + client.key());
+    }
+
+    /**
+     * Answers the {@code refresh_token} grant for the known refresh tokens with a rotated one, and with
+     * {@code invalid_grant} for the others, recording every refresh token it received.
+     */
+    private static class FakeTokenServer implements AutoCloseable {
+        private final HttpServer server;
+
+        private final List<String> refreshTokens = new CopyOnWriteArrayList<>();
+
+        private volatile Rethrow.RunnableChecked<Exception> onInvalidGrant = () -> {};
+
+        private FakeTokenServer(Map<String, String> rotations) throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/oauth/token", exchange -> {
+                Map<String, String> form = Arrays.stream(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).split("&"))
+                    .map(pair -> pair.split("=", 2))
+                    .collect(Collectors.toMap(pair -> pair[0], pair -> URLDecoder.decode(pair[1], StandardCharsets.UTF_8)));
+                String refreshToken = form.get("refresh_token");
+                this.refreshTokens.add(refreshToken);
+
+                String rotated = rotations.get(refreshToken);
+                if (rotated == null) {
+                    try {
+                        this.onInvalidGrant.run();
+                    } catch (Exception e) {
+                        throw new IOException(e);
+                    }
+                    respond(exchange, 400, "{\"error\": \"invalid_grant\", \"error_description\": \"Unknown or invalid refresh token.\"}");
+                    return;
+                }
+
+                respond(exchange, 200, JacksonMapper.ofJson().writeValueAsString(Map.of(
+                    "access_token", "access-" + refreshToken,
+                    "expires_in", 3600,
+                    "refresh_token", rotated
+                )));
+            });
+            this.server.start();
+        }
+
+        private static void respond(HttpExchange exchange, int status, String response) throws IOException {
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+
+        private JiraOAuth.Client client(boolean storeRotatedRefreshToken) {
+            // a client of its own, the tokens and rotated refresh tokens are cached worker-wide
+            return new JiraOAuth.Client(
+                "http://localhost:" + this.server.getAddress().getPort() + "/oauth/token",
+                "client-" + System.nanoTime(),
+                "client-secret",
+                "r0",
+                List.of(),
+                storeRotatedRefreshToken
+            );
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.kestra.plugin.jira.issues;
+
+import java.net.http.HttpHeaders;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class JiraRateLimiterTest {
+
+    @Test
+    void unlimitedByDefault() {
+        JiraRateLimiter limiter = new JiraRateLimiter();
+
+        assertThat(limiter.reserve(), is(0L));
+        assertThat(limiter.reserve(), is(0L));
+    }
+
+    @Test
+    void retryAfterBlocksAndSlowsDown() {
+        JiraRateLimiter limiter = new JiraRateLimiter();
+
+        limiter.onResponse(429, headers(Map.of("Retry-After", "2")));
+
+        assertThat(limiter.rate(), is(JiraRateLimiter.THROTTLED_RATE));
+        assertThat(limiter.reserve(), greaterThan(1_000_000_000L));
+    }
+
+    @Test
+    void spreadRemainingQuota() {
+        JiraRateLimiter limiter = new JiraRateLimiter();
+
+        limiter.onResponse(200, headers(Map.of(
+            "X-RateLimit-Remaining", "10",
+            "X-RateLimit-Reset", Instant.now().plusSeconds(10).toString()
+        )));
+
+        assertThat(limiter.rate(), both(greaterThan(0.5)).and(lessThanOrEqualTo(1.1)));
+    }
+
+    @Test
+    void recoverToMaxRate() {
+        JiraRateLimiter limiter = new JiraRateLimiter(8);
+
+        limiter.onResponse(429, headers(Map.of()));
+        assertThat(limiter.rate(), is(4.0));
+
+        for (int i = 0; i < 5; i++) {
+            limiter.onResponse(200, headers(Map.of()));
+        }
+        assertThat(limiter.rate(), is(8.0));
+    }
+
+    @Test
+    void maxRateAppliesToItsOwnTask() {
+        String baseUrl = "https://limiter-" + System.nanoTime() + ".atlassian.net";
+        JiraRateLimiter capped = JiraRateLimiter.of(baseUrl, "basic:jane@example.com", 2.0);
+        JiraRateLimiter other = JiraRateLimiter.of(baseUrl, "basic:jane@example.com", null);
+
+        assertThat(capped.rate(), is(2.0));
+        assertThat(other.rate(), is(Double.POSITIVE_INFINITY));
+
+        // what Jira reports is shared
+        capped.onResponse(429, headers(Map.of()));
+        assertThat(capped.rate(), is(1.0));
+        assertThat(other.rate(), is(1.0));
+    }
+
+    private static HttpHeaders headers(Map<String, String> values) {
+        return HttpHeaders.of(
+            values.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> List.of(e.getValue()))),
+            (name, value) -> true
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.http.HttpRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class JiraRetryPolicyTest {
+    @Test
+    void idempotent() {
+        assertThat(JiraRetryPolicy.idempotent(request("GET", "/rest/api/2/issue/TEST-1")), is(true));
+        assertThat(JiraRetryPolicy.idempotent(request("PUT", "/rest/api/2/issue/TEST-1")), is(true));
+        assertThat(JiraRetryPolicy.idempotent(request("POST", "/rest/api/2/search/jql")), is(true));
+        assertThat(JiraRetryPolicy.idempotent(request("POST", "/rest/api/2/worklog/list")), is(true));
+        assertThat(JiraRetryPolicy.idempotent(request("POST", "/rest/api/2/issue/")), is(false));
+        assertThat(JiraRetryPolicy.idempotent(request("POST", "/rest/api/2/issue/TEST-1/comment")), is(false));
+
+        assertThat(JiraRetryPolicy.idempotent(request("PUT", "/rest/api/2/issue/TEST-1", "{\"fields\": {\"summary\": \"Disk full\"}}")), is(true));
+        assertThat(JiraRetryPolicy.idempotent(request("PUT", "/rest/api/2/issue/TEST-1", "{\"fields\": {}, \"update\": {}}")), is(true));
+        assertThat(JiraRetryPolicy.idempotent(request("PUT", "/rest/api/2/issue/TEST-1", "{\"update\": {\"labels\": [{\"add\": \"triage\"}]}}")), is(false));
+    }
+
+    @Test
+    void retryable() {
+        assertThat(JiraRetryPolicy.retryable(502, true), is(true));
+        assertThat(JiraRetryPolicy.retryable(504, true), is(true));
+        assertThat(JiraRetryPolicy.retryable(500, true), is(false));
+        assertThat(JiraRetryPolicy.retryable(503, false), is(true));
+        assertThat(JiraRetryPolicy.retryable(502, false), is(false));
+
+        assertThat(JiraRetryPolicy.retryable(new RuntimeException(new IOException("Connection reset")), true), is(true));
+        assertThat(JiraRetryPolicy.retryable(new RuntimeException(new IOException("Connection reset")), false), is(false));
+        assertThat(JiraRetryPolicy.retryable(new RuntimeException(new ConnectException("Connection refused")), false), is(true));
+        assertThat(JiraRetryPolicy.retryable(new IllegalArgumentException("Invalid"), true), is(false));
+    }
+
+    @Test
+    void delay() {
+        for (int retry = 1; retry <= 30; retry++) {
+            long delay = JiraRetryPolicy.delay(retry, null);
+            assertThat(delay, greaterThanOrEqualTo(0L));
+            assertThat(delay, lessThanOrEqualTo(Math.min(JiraRetryPolicy.MAX_DELAY.toNanos(), JiraRetryPolicy.BASE_DELAY.toNanos() << Math.min(retry - 1, 20))));
+        }
+
+        assertThat(JiraRetryPolicy.delay(1, Duration.ofSeconds(2)), is(Duration.ofSeconds(2).toNanos()));
+    }
+
+    @Test
+    void allows() {
+        JiraRetryPolicy policy = new JiraRetryPolicy(2, Duration.ofSeconds(1));
+        long now = System.nanoTime();
+
+        assertThat(policy.allows(1, now, Duration.ofMillis(100).toNanos()), is(true));
+        assertThat(policy.allows(3, now, 0), is(false));
+        // Retry-After beyond the budget
+        assertThat(policy.allows(1, now, Duration.ofSeconds(5).toNanos()), is(false));
+        assertThat(new JiraRetryPolicy(0, Duration.ofSeconds(30)).allows(1, now, 0), is(false));
+    }
+
+    private static HttpRequest request(String method, String path) {
+        return HttpRequest.builder()
+            .method(method)
+            .uri(URI.create("https://jira.example.com" + path))
+            .build();
+    }
+
+    private static HttpRequest request(String method, String path, String body) {
+        return HttpRequest.builder()
+            .method(method)
+            .uri(URI.create("https://jira.example.com" + path))
+            .body(HttpRequest.StringRequestBody.builder().content(body).build())
+            .build();
+    }
+}
@@ -0,0 +1,141 @@
+package io.kestra.plugin.jira.issues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JiraUsersTest {
+    private static final String USERS = """
+        [
+          {"accountId": "5b10a2844c20165700ede21f", "emailAddress": "jane@example.com", "displayName": "Jane Doe"},
+          {"accountId": "557058:f58131cb-b67d-43c7-b30d-6b58d40bd077", "displayName": "John Smith"},
+          {"accountId": "557058:0e2fdc4a-0000-4a3b-9f6e-6b58d40bd078", "displayName": "John Smith"}
+        ]
+        """;
+
+    @Test
+    void find() throws Exception {
+        JsonNode users = JacksonMapper.ofJson().readTree(USERS);
+
+        assertThat(JiraUsers.find(users, "JANE@example.com"), is(Optional.of("5b10a2844c20165700ede21f")));
+        assertThat(JiraUsers.find(users, "jane doe"), is(Optional.of("5b10a2844c20165700ede21f")));
+        assertThat(JiraUsers.find(users, "nobody"), is(Optional.empty()));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> JiraUsers.find(users, "John Smith"));
+        assertThat(exception.getMessage(), containsString("Several Jira users are named 'John Smith'"));
+
+        // hidden email address, the only user found is the one searched for
+        JsonNode hidden = JacksonMapper.ofJson().readTree("""
+            [{"accountId": "5b10ac8d82e05b22cc7d4ef5", "displayName": "Mia Krystof"}]
+            """);
+        assertThat(JiraUsers.find(hidden, "mia@example.com"), is(Optional.of("5b10ac8d82e05b22cc7d4ef5")));
+        // a name prefix of the only user found is not that user
+        assertThat(JiraUsers.find(hidden, "Mia"), is(Optional.empty()));
+    }
+
+    @Test
+    void accountId() throws Exception {
+        String baseUrl = "https://users-" + System.nanoTime() + ".atlassian.net";
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(JiraUsers.accountId(baseUrl, "557058:f58131cb-b67d-43c7-b30d-6b58d40bd077", Duration.ofHours(1), () -> {
+            loads.incrementAndGet();
+            return null;
+        }), is("557058:f58131cb-b67d-43c7-b30d-6b58d40bd077"));
+        assertThat(loads.get(), is(0));
+
+        for (String user : List.of("jane@example.com", " Jane@Example.com ")) {
+            assertThat(JiraUsers.accountId(baseUrl, user, Duration.ofHours(1), () -> {
+                loads.incrementAndGet();
+                return JacksonMapper.ofJson().readTree(USERS);
+            }), is("5b10a2844c20165700ede21f"));
+        }
+        assertThat(loads.get(), is(1));
+
+        // unknown users are cached too
+        for (int i = 0; i < 2; i++) {
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> JiraUsers.accountId(baseUrl, "nobody@example.com", Duration.ofHours(1), () -> {
+                    loads.incrementAndGet();
+                    return JacksonMapper.ofJson().readTree("[]");
+                })
+            );
+            assertThat(exception.getMessage(), containsString("No Jira user found for 'nobody@example.com'"));
+        }
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void concurrentLookups() throws Exception {
+        String baseUrl = "https://users-" + System.nanoTime() + ".atlassian.net";
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> JiraUsers.accountId(baseUrl, "jane@example.com", Duration.ofHours(1), () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return JacksonMapper.ofJson().readTree(USERS);
+                })));
+            }
+
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> future : futures) {
+                assertThat(future.get(), is("5b10a2844c20165700ede21f"));
+            }
+        }
+
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void resolve() throws Exception {
+        Map<String, JiraMetadata.Field> metadata = Map.of(
+            "customfield_10100", new JiraMetadata.Field("customfield_10100", "Approver", "user", null),
+            "customfield_10101", new JiraMetadata.Field("customfield_10101", "Reviewers", "array", "user"),
+            "customfield_10102", new JiraMetadata.Field("customfield_10102", "Team", "string", null)
+        );
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("assignee", "jane@example.com");
+        fields.put("reporter", Map.of("accountId", "5b10ac8d82e05b22cc7d4ef5"));
+        fields.put("customfield_10100", "Jane Doe");
+        fields.put("customfield_10101", List.of("jane@example.com", "john@example.com"));
+        fields.put("customfield_10102", "jane@example.com");
+
+        Map<String, Object> resolved = JiraUsers.resolve(fields, metadata, user -> user.startsWith("j") ? "id-" + user : "id-jane");
+
+        assertThat(resolved.get("assignee"), is(Map.of("accountId", "id-jane@example.com")));
+        assertThat(resolved.get("reporter"), is(Map.of("accountId", "5b10ac8d82e05b22cc7d4ef5")));
+        assertThat(resolved.get("customfield_10100"), is(Map.of("accountId", "id-jane")));
+        assertThat(resolved.get("customfield_10101"), is(List.of(Map.of("accountId", "id-jane@example.com"), Map.of("accountId", "id-john@example.com"))));
+        assertThat(resolved.get("customfield_10102"), is("jane@example.com"));
+
+        assertThat(JiraUsers.mayHaveUsers(Map.of("summary", "Updated", "customfield_10016", 5)), is(false));
+        assertThat(JiraUsers.mayHaveUsers(Map.of("customfield_10100", "Jane Doe")), is(true));
+    }
+}
@@ -0,0 +1,21 @@
+package io.kestra.plugin.jira.issues;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class JiraUtilTest {
+    @Test
+    void route() {
+        assertThat(JiraUtil.route(URI.create("https://test.atlassian.net/rest/api/2/issue/")), is("/rest/api/2/issue"));
+        assertThat(JiraUtil.route(URI.create("https://test.atlassian.net/rest/api/2/issue/PROJ-12/comment")), is("/rest/api/2/issue/{issueIdOrKey}/comment"));
+        assertThat(JiraUtil.route(URI.create("https://test.atlassian.net/rest/api/2/issue/10042/transitions")), is("/rest/api/2/issue/{issueIdOrKey}/transitions"));
+        assertThat(JiraUtil.route(URI.create("https://test.atlassian.net/rest/api/2/issue/bulk")), is("/rest/api/2/issue/bulk"));
+        assertThat(JiraUtil.route(URI.create("https://test.atlassian.net/rest/api/2/issue/createmeta/PROJ/issuetypes")), is("/rest/api/2/issue/createmeta/{projectIdOrKey}/issuetypes"));
+        assertThat(JiraUtil.route(URI.create("https://test.atlassian.net/rest/api/2/attachment/content/10001")), is("/rest/api/2/attachment/content/{id}"));
+        assertThat(JiraUtil.route(URI.create("https://jira.example.com/jira/rest/api/2/search?jql=x")), is("/rest/api/2/search"));
+    }
+}
@@ -0,0 +1,69 @@
+package io.kestra.plugin.jira.issues;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JqlPredicateTest {
+    private static final String EVENT = """
+        {
+          "webhookEvent": "jira:issue_created",
+          "issue": {
+            "key": "PROJ-12",
+            "fields": {
+              "project": {"key": "PROJ", "name": "My project"},
+              "issuetype": {"name": "Bug"},
+              "priority": {"name": "High"},
+              "labels": ["backend", "outage", "a,b"],
+              "summary": "Database is down",
+              "environment": "Black and white"
+            }
+          }
+        }
+        """;
+
+    @Test
+    void matches() throws Exception {
+        JsonNode event = JacksonMapper.ofJson().readTree(EVENT);
+
+        assertThat(JqlPredicate.parse("project = PROJ").test(event), is(true));
+        assertThat(JqlPredicate.parse("issuetype = bug AND priority in (High, Highest)").test(event), is(true));
+        assertThat(JqlPredicate.parse("labels = outage and labels != ignore").test(event), is(true));
+        assertThat(JqlPredicate.parse("summary ~ \"is down\"").test(event), is(true));
+        assertThat(JqlPredicate.parse("issue.key = PROJ-12").test(event), is(true));
+    }
+
+    @Test
+    void doesNotMatch() throws Exception {
+        JsonNode event = JacksonMapper.ofJson().readTree(EVENT);
+
+        assertThat(JqlPredicate.parse("project = OTHER").test(event), is(false));
+        assertThat(JqlPredicate.parse("priority not in (High, Highest)").test(event), is(false));
+        assertThat(JqlPredicate.parse("labels = backend AND assignee = someone").test(event), is(false));
+    }
+
+    @Test
+    void quotedSeparators() throws Exception {
+        JsonNode event = JacksonMapper.ofJson().readTree(EVENT);
+
+        assertThat(JqlPredicate.parse("environment ~ \"black and white\"").test(event), is(true));
+        assertThat(JqlPredicate.parse("environment = 'Black AND White' AND project = PROJ").test(event), is(true));
+        assertThat(JqlPredicate.parse("labels in (\"a,b\", other)").test(event), is(true));
+        assertThat(JqlPredicate.parse("labels in (\"a,c\", other)").test(event), is(false));
+        assertThat(JqlPredicate.split("a = \"x and y\" and b in ('1,2', 3)", Pattern.compile("\\s+(?i:and)\\s+")), is(List.of("a = \"x and y\"", "b in ('1,2', 3)")));
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> JqlPredicate.parse("project"));
+    }
+}
@@ -0,0 +1,245 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@KestraTest
+class SearchTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void tokenPaging() throws Exception {
+        try (FakeJira jira = new FakeJira(5)) {
+            Search task = jira.search()
+                .fields(Property.ofValue(List.of("summary")))
+                .expand(Property.ofValue(List.of("names", "changelog")))
+                .pageSize(Property.ofValue(2))
+                .fetchType(Property.ofValue(FetchType.FETCH))
+                .build();
+
+            Search.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            assertThat(output.getSize(), is(5L));
+            assertThat(keys(output.getRows()), is(List.of("PROJ-1", "PROJ-2", "PROJ-3", "PROJ-4", "PROJ-5")));
+            assertThat(jira.paths(), is(List.of("/rest/api/2/search/jql", "/rest/api/2/search/jql", "/rest/api/2/search/jql")));
+            assertThat(jira.values("nextPageToken"), is(Arrays.asList(null, "2", "4")));
+            assertThat(jira.values("startAt"), is(Arrays.asList(null, null, null)));
+            assertThat(jira.requests.getFirst().body().get("fields"), is(List.of("summary")));
+            assertThat(jira.requests.getFirst().body().get("expand"), is("names,changelog"));
+        }
+    }
+
+    @Test
+    void offsetPaging() throws Exception {
+        try (FakeJira jira = new FakeJira(5)) {
+            Search task = jira.search()
+                .expand(Property.ofValue(List.of("names")))
+                .pagination(Property.ofValue(Search.Pagination.OFFSET))
+                .pageSize(Property.ofValue(2))
+                .fetchType(Property.ofValue(FetchType.FETCH))
+                .build();
+
+            Search.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            assertThat(keys(output.getRows()), is(List.of("PROJ-1", "PROJ-2", "PROJ-3", "PROJ-4", "PROJ-5")));
+            // stops once `total` issues were fetched, without asking for an empty page
+            assertThat(jira.paths(), is(List.of("/rest/api/2/search", "/rest/api/2/search", "/rest/api/2/search")));
+            assertThat(jira.values("startAt"), is(List.of(0, 2, 4)));
+            assertThat(jira.requests.getFirst().body().get("expand"), is(List.of("names")));
+        }
+    }
+
+    @Test
+    void maxResults() throws Exception {
+        try (FakeJira jira = new FakeJira(10)) {
+            Search task = jira.search()
+                .maxResults(Property.ofValue(6))
+                .pageSize(Property.ofValue(4))
+                .fetchType(Property.ofValue(FetchType.FETCH))
+                .build();
+
+            Search.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            // the last page only asks for the issues still missing
+            assertThat(output.getSize(), is(6L));
+            assertThat(keys(output.getRows()), is(List.of("PROJ-1", "PROJ-2", "PROJ-3", "PROJ-4", "PROJ-5", "PROJ-6")));
+            assertThat(jira.values("maxResults"), is(List.of(4, 2)));
+        }
+    }
+
+    @Test
+    void fetchOne() throws Exception {
+        try (FakeJira jira = new FakeJira(5)) {
+            Search task = jira.search()
+                .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+                .build();
+
+            Search.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+            assertThat(output.getSize(), is(1L));
+            assertThat(output.getRow().get("key"), is("PROJ-1"));
+            assertThat(output.getRows(), nullValue());
+            assertThat(jira.values("maxResults"), is(List.of(1)));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void store() throws Exception {
+        try (FakeJira jira = new FakeJira(3)) {
+            Search task = jira.search().build();
+            RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+            Search.Output output = task.run(runContext);
+
+            assertThat(output.getSize(), is(3L));
+            assertThat(output.getRows(), nullValue());
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri()), StandardCharsets.UTF_8))) {
+                List<Map<String, Object>> rows = FileSerde.readAll(reader).map(row -> (Map<String, Object>) row).collectList().block();
+                assertThat(keys(rows), is(List.of("PROJ-1", "PROJ-2", "PROJ-3")));
+                assertThat(((Map<String, Object>) rows.getFirst().get("fields")).get("summary"), is("Issue 1"));
+            }
+        }
+    }
+
+    @Test
+    void fetchAccepted() throws Exception {
+        try (FakeJira jira = new FakeJira(5)) {
+            Search task = jira.search()
+                .maxResults(Property.ofValue(2))
+                .build();
+            List<Map<String, Object>> accepted = new ArrayList<>();
+
+            // the rejected issues do not count towards `maxResults`, paging goes on past them
+            long size = task.fetchAccepted(TestsUtils.mockRunContext(runContextFactory, task, Map.of()), null, issue -> {
+                boolean accept = !List.of("PROJ-1", "PROJ-2").contains(issue.get("key"));
+                if (accept) {
+                    accepted.add(issue);
+                }
+                return accept;
+            });
+
+            assertThat(size, is(2L));
+            assertThat(keys(accepted), is(List.of("PROJ-3", "PROJ-4")));
+            assertThat(jira.values("nextPageToken"), is(Arrays.asList(null, "2")));
+        }
+    }
+
+    private static List<Object> keys(List<Map<String, Object>> rows) {
+        return rows.stream().map(row -> row.get("key")).toList();
+    }
+
+    /**
+     * Serves the token-based and offset-based search routes over a fixed list of issues, recording every request.
+     * Other top-level fields come before and after the issues, like the `names` Jira returns with `expand`.
+     */
+    private static class FakeJira implements AutoCloseable {
+        private final HttpServer server;
+
+        private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+        private FakeJira(int issues) throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/rest/api/2/search", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                Map<String, Object> request = JacksonMapper.toMap(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                this.requests.add(new Request(path, request));
+
+                boolean token = path.endsWith("/jql");
+                Object position = token ? request.get("nextPageToken") : request.get("startAt");
+                int start = position == null ? 0 : Integer.parseInt(String.valueOf(position));
+                int end = Math.min(issues, start + ((Number) request.get("maxResults")).intValue());
+
+                List<Map<String, Object>> page = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    page.add(Map.of(
+                        "id", String.valueOf(10001 + i),
+                        "key", "PROJ-" + (i + 1),
+                        "fields", Map.of("summary", "Issue " + (i + 1))
+                    ));
+                }
+
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("names", Map.of("summary", "Summary"));
+                response.put("issues", page);
+                if (token) {
+                    if (end < issues) {
+                        response.put("nextPageToken", String.valueOf(end));
+                    }
+                    response.put("isLast", end >= issues);
+                } else {
+                    response.put("startAt", start);
+                    response.put("total", issues);
+                }
+
+                respond(exchange, JacksonMapper.ofJson().writeValueAsString(response));
+            });
+            this.server.start();
+        }
+
+        private static void respond(HttpExchange exchange, String response) throws IOException {
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+
+        private List<String> paths() {
+            return this.requests.stream().map(Request::path).toList();
+        }
+
+        private List<Object> values(String name) {
+            return this.requests.stream().map(request -> request.body().get(name)).toList();
+        }
+
+        private Search.SearchBuilder<?, ?> search() {
+            return Search.builder()
+                .id("search")
+                .type(Search.class.getName())
+                .baseUrl("http://localhost:" + this.server.getAddress().getPort())
+                .username(Property.ofValue("jane@example.com"))
+                .password(Property.ofValue("token"))
+                .jql(Property.ofValue("project = PROJ ORDER BY key ASC"));
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+
+        private record Request(String path, Map<String, Object> body) {}
+    }
+}
@@ -0,0 +1,80 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SyncWorklogsTest {
+    @Test
+    void changePage() throws Exception {
+        SyncWorklogs.ChangePage page = SyncWorklogs.ChangePage.of(JacksonMapper.ofJson().readTree("""
+            {
+              "values": [
+                {"worklogId": 103, "updatedTime": 1438013671562, "properties": []},
+                {"worklogId": 104, "updatedTime": 1438013672165, "properties": []}
+              ],
+              "since": 1438013671562,
+              "until": 1438013693136,
+              "self": "https://your-domain.atlassian.net/rest/api/2/worklog/updated?since=1438013671562",
+              "nextPage": "https://your-domain.atlassian.net/rest/api/2/worklog/updated?since=1438013693136",
+              "lastPage": false
+            }
+            """));
+
+        assertThat(page.ids(), is(List.of(103L, 104L)));
+        assertThat(page.until(), is(1438013693136L));
+        assertThat(page.lastPage(), is(false));
+
+        Map<String, Object> delete = SyncWorklogs.delete(page.changes().get(0));
+        assertThat(delete.get("operation"), is("DELETE"));
+        assertThat(delete.get("id"), is("103"));
+        assertThat(delete.get("deleted"), is(Instant.ofEpochMilli(1438013671562L)));
+    }
+
+    @Test
+    void readWorklogs() throws Exception {
+        String response = """
+            [
+              {"id": "100028", "issueId": "10002", "timeSpentSeconds": 12000, "started": "2021-01-17T12:34:00.000+0000"},
+              {"id": "100029", "issueId": "10003", "timeSpentSeconds": 3600, "started": "2021-01-18T09:00:00.000+0000"}
+            ]
+            """;
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        int count = SyncWorklogs.readWorklogs(
+            new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)),
+            worklog -> rows.add(SyncWorklogs.upsert(worklog))
+        );
+
+        assertThat(count, is(2));
+        assertThat(rows.get(0).get("operation"), is("UPSERT"));
+        assertThat(rows.get(0).get("id"), is("100028"));
+        assertThat(rows.get(1).get("issueId"), is("10003"));
+        assertThat(((Map<?, ?>) rows.get(1).get("worklog")).get("timeSpentSeconds"), is(3600));
+    }
+
+    @Test
+    void watermark() {
+        SyncWorklogs.Watermark watermark = SyncWorklogs.Watermark.of(Map.of("updated", 1438013693136L, "deleted", 1438013690000L));
+        assertThat(watermark, is(new SyncWorklogs.Watermark(1438013693136L, 1438013690000L)));
+        assertThat(SyncWorklogs.Watermark.of(watermark.toMap()), is(watermark));
+
+        // a watermark saved before deletes were synced starts them from the update watermark
+        assertThat(SyncWorklogs.Watermark.of(Map.of("updated", 42)), is(new SyncWorklogs.Watermark(42, 42)));
+        assertThat(SyncWorklogs.Watermark.of("invalid"), nullValue());
+
+        // saved as JSON by a kv.Set task from the watermark output
+        assertThat(SyncWorklogs.Watermark.of("{\"updated\": 1438013693136, \"deleted\": 1438013690000}"), is(watermark));
+    }
+}
@@ -0,0 +1,164 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+public class TransitionTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void searchOnlyForSeveralIssues() throws Exception {
+        try (FakeJira jira = new FakeJira()) {
+            Transition single = jira.transition().issueIdOrKey("PROJ-1").build();
+            Transition.Output output = single.run(TestsUtils.mockRunContext(runContextFactory, single, Map.of()));
+
+            // a search would cost as much as listing the transitions of the issue
+            assertThat(output.getTransitionId(), is("31"));
+            assertThat(jira.searches.get(), is(0));
+            assertThat(jira.lookups.get(), is(1));
+            assertThat(jira.posts.get(), is(1));
+
+            Transition many = jira.transition().issueIdOrKeys(Property.ofValue(List.of("PROJ-2", "PROJ-3", "PROJ-4"))).build();
+            output = many.run(TestsUtils.mockRunContext(runContextFactory, many, Map.of()));
+
+            // one search for the workflow of the issues, one lookup for that workflow, then only the transitions
+            assertThat(output.getTransitioned(), is(3L));
+            assertThat(jira.searches.get(), is(1));
+            assertThat(jira.lookups.get(), is(2));
+            assertThat(jira.posts.get(), is(4));
+        }
+    }
+
+    @Test
+    void findTransition() throws Exception {
+        JsonNode response = JacksonMapper.ofJson().readTree("""
+            {"transitions": [
+              {"id": "11", "name": "Start progress", "to": {"name": "In Progress"}},
+              {"id": "31", "name": "Close", "to": {"name": "Done"}}
+            ]}
+            """);
+
+        assertThat(Transition.findTransition(response, "done").orElse(null), is("31"));
+        assertThat(Transition.findTransition(response, "Start progress").orElse(null), is("11"));
+        assertThat(Transition.findTransition(response, "Rejected").isPresent(), is(false));
+
+    }
+
+    @Test
+    void workflow() {
+        Map<String, Object> issue = Map.of(
+            "id", "10042",
+            "key", "PROJ-42",
+            "fields", Map.of("project", Map.of("id", "10000", "key", "PROJ"), "issuetype", Map.of("id", "10004", "name", "Bug"))
+        );
+
+        assertThat(Transition.workflow(issue).orElse(null), is("10000|10004"));
+        assertThat(Transition.workflow(Map.of("id", "10042", "fields", Map.of("project", Map.of("id", "10000")))).isPresent(), is(false));
+    }
+
+    /**
+     * Serves the search, the transitions of every issue and the transition itself, counting the calls to each of them.
+     * Every issue belongs to the same project and issue type.
+     */
+    private static class FakeJira implements AutoCloseable {
+        private static final Pattern KEY = Pattern.compile("PROJ-\\d+");
+
+        private final HttpServer server;
+
+        private final AtomicInteger searches = new AtomicInteger();
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        private final AtomicInteger posts = new AtomicInteger();
+
+        private FakeJira() throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/rest/api/2/search/jql", exchange -> {
+                this.searches.incrementAndGet();
+                Map<String, Object> request = JacksonMapper.toMap(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+                List<Map<String, Object>> issues = new ArrayList<>();
+                Matcher matcher = KEY.matcher(String.valueOf(request.get("jql")));
+                while (matcher.find()) {
+                    issues.add(Map.of(
+                        "id", "1" + matcher.group().substring("PROJ-".length()),
+                        "key", matcher.group(),
+                        "fields", Map.of("project", Map.of("id", "10000"), "issuetype", Map.of("id", "10004"))
+                    ));
+                }
+
+                respond(exchange, 200, JacksonMapper.ofJson().writeValueAsString(Map.of("issues", issues, "isLast", true)));
+            });
+            this.server.createContext("/rest/api/2/issue/", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+
+                if (exchange.getRequestMethod().equals("GET")) {
+                    this.lookups.incrementAndGet();
+                    respond(exchange, 200, """
+                        {"transitions": [
+                          {"id": "11", "name": "Start progress", "to": {"name": "In Progress"}},
+                          {"id": "31", "name": "Close", "to": {"name": "Done"}}
+                        ]}
+                        """);
+                } else {
+                    this.posts.incrementAndGet();
+                    exchange.sendResponseHeaders(204, -1);
+                    exchange.close();
+                }
+            });
+            this.server.start();
+        }
+
+        private static void respond(HttpExchange exchange, int status, String response) throws IOException {
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+
+        private Transition.TransitionBuilder<?, ?> transition() {
+            return Transition.builder()
+                .id("transition_" + System.nanoTime())
+                .type(Transition.class.getName())
+                .baseUrl("http://localhost:" + this.server.getAddress().getPort())
+                .username(Property.ofValue("jane@example.com"))
+                .password(Property.ofValue("token"))
+                .status(Property.ofValue("Done"));
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+    }
+}
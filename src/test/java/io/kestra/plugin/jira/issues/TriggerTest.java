@@ -0,0 +1,146 @@
+package io.kestra.plugin.jira.issues;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+class TriggerTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void cursorJql() {
+        assertThat(
+            Trigger.cursorJql("project = PROJ", null, ZoneId.of("UTC")),
+            is("(project = PROJ) ORDER BY updated ASC, key ASC")
+        );
+
+        Trigger.Watermark watermark = new Trigger.Watermark(Instant.parse("2024-01-15T09:22:33.123Z"), Set.of("10001"));
+        assertThat(
+            Trigger.cursorJql("project = PROJ", watermark, ZoneId.of("Europe/Paris")),
+            is("(project = PROJ) AND updated >= \"2024/01/15 10:22\" ORDER BY updated ASC, key ASC")
+        );
+    }
+
+    @Test
+    void watermark() {
+        Instant first = Instant.parse("2024-01-15T09:22:33.123Z");
+        Instant second = Instant.parse("2024-01-15T09:22:40.000Z");
+
+        Trigger.Watermark watermark = Trigger.Watermark.advance(null, first, "10001");
+        watermark = Trigger.Watermark.advance(watermark, first, "10002");
+        assertThat(watermark.updated(), is(first));
+        assertThat(watermark.ids(), containsInAnyOrder("10001", "10002"));
+
+        // issues returned again by the minute-precision cursor are skipped
+        assertThat(watermark.isAfter(first, "10001"), is(false));
+        assertThat(watermark.isAfter(first.minusSeconds(5), "10003"), is(false));
+        assertThat(watermark.isAfter(first, "10003"), is(true));
+        assertThat(watermark.isAfter(second, "10001"), is(true));
+
+        watermark = Trigger.Watermark.advance(watermark, second, "10001");
+        assertThat(watermark.updated(), is(second));
+        assertThat(watermark.ids(), containsInAnyOrder("10001"));
+
+        Trigger.Watermark restored = Trigger.Watermark.of(watermark.toMap());
+        assertThat(restored, is(watermark));
+    }
+
+    @Test
+    void moreIssuesThanMaxResultsInOneMinute() throws Exception {
+        try (FakeJira jira = new FakeJira(5)) {
+            Trigger trigger = Trigger.builder()
+                .id("updated_" + System.nanoTime())
+                .type(Trigger.class.getName())
+                .baseUrl("http://localhost:" + jira.server.getAddress().getPort())
+                .username(Property.ofValue("jane@example.com"))
+                .password(Property.ofValue("token"))
+                .jql(Property.ofValue("project = PROJ"))
+                .maxResults(Property.ofValue(2))
+                .build();
+
+            Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+            // Jira returns the issues already emitted again on every poll, they must not hold back the others
+            List<Long> sizes = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+                sizes.add(execution.map(e -> ((Number) e.getTrigger().getVariables().get("size")).longValue()).orElse(0L));
+            }
+
+            assertThat(sizes, is(List.of(2L, 2L, 1L)));
+            assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+        }
+    }
+
+    /**
+     * Serves issues all updated at the same instant, ignoring the JQL cursor like Jira does within a minute.
+     */
+    private static class FakeJira implements AutoCloseable {
+        private final HttpServer server;
+
+        private FakeJira(int issues) throws IOException {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            this.server.createContext("/rest/api/2/search/jql", exchange -> {
+                Map<String, Object> request = JacksonMapper.toMap(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                int start = request.get("nextPageToken") == null ? 0 : Integer.parseInt(String.valueOf(request.get("nextPageToken")));
+                int end = Math.min(issues, start + ((Number) request.get("maxResults")).intValue());
+
+                List<Map<String, Object>> page = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    page.add(Map.of(
+                        "id", String.valueOf(10001 + i),
+                        "key", "PROJ-" + (i + 1),
+                        "fields", Map.of("updated", "2024-01-15T09:22:33.123+0000")
+                    ));
+                }
+
+                Map<String, Object> response = new HashMap<>(Map.of("issues", page, "isLast", end >= issues));
+                if (end < issues) {
+                    response.put("nextPageToken", String.valueOf(end));
+                }
+
+                byte[] bytes = JacksonMapper.ofJson().writeValueAsBytes(response);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(bytes);
+                }
+            });
+            this.server.start();
+        }
+
+        @Override
+        public void close() {
+            this.server.stop(0);
+        }
+    }
+}
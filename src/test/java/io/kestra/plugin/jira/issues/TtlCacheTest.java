@@ -0,0 +1,93 @@
+package io.kestra.plugin.jira.issues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TtlCacheTest {
+    @Test
+    void expiresAndEvicts() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(2);
+
+        cache.put("a", "1", Duration.ofMinutes(1));
+        cache.put("b", "2", Duration.ofMinutes(1));
+        assertThat(cache.getIfPresent("a").orElse(null), is("1"));
+
+        // "b" is the least recently used entry
+        cache.put("c", "3", Duration.ofMinutes(1));
+        assertThat(cache.getIfPresent("b").isPresent(), is(false));
+        assertThat(cache.size(), is(2));
+
+        cache.put("d", "4", Duration.ofMillis(1));
+        Thread.sleep(5);
+        assertThat(cache.getIfPresent("d").isPresent(), is(false));
+    }
+
+    @Test
+    void singleFlight() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("key", Duration.ofMinutes(1), () -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    release.await();
+                    return "value";
+                })));
+            }
+
+            started.await();
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(), is("value"));
+            }
+            assertThat(loads.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        TtlCache<String, String> cache = new TtlCache<>(10);
+
+        assertThrows(IllegalStateException.class, () -> cache.get("key", Duration.ofMinutes(1), () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertThat(cache.getIfPresent("key").isPresent(), is(false));
+    }
+
+    @Test
+    void ttlFromValueAndConditionalInvalidation() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(10);
+
+        cache.get("short", value -> Duration.ofMillis(1), () -> "stale");
+        Thread.sleep(5);
+        assertThat(cache.getIfPresent("short").isPresent(), is(false));
+
+        cache.put("token", "fresh", Duration.ofMinutes(1));
+        cache.invalidate("token", "stale");
+        assertThat(cache.getIfPresent("token").orElse(null), is("fresh"));
+        cache.invalidate("token", "fresh");
+        assertThat(cache.getIfPresent("token").isPresent(), is(false));
+    }
+}
@@ -0,0 +1,155 @@
+package io.kestra.plugin.jira.issues;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpRequest;
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class WebhookTriggerTest {
+    private static final String EVENT = """
+        {
+          "webhookEvent": "jira:issue_updated",
+          "issue": {
+            "key": "PROJ-7",
+            "fields": {
+              "project": {"key": "PROJ"},
+              "issuetype": {"name": "Bug"}
+            }
+          }
+        }
+        """;
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void accept() throws Exception {
+        JsonNode event = JacksonMapper.ofJson().readTree(EVENT);
+
+        WebhookTrigger trigger = trigger(List.of("jira:issue_updated"), List.of("PROJ"), "issuetype = Bug");
+        assertThat(trigger.accept(this.runContext(trigger), event), is(true));
+
+        WebhookTrigger any = trigger(null, null, null);
+        assertThat(any.accept(this.runContext(any), event), is(true));
+    }
+
+    @Test
+    void reject() throws Exception {
+        JsonNode event = JacksonMapper.ofJson().readTree(EVENT);
+
+        for (WebhookTrigger trigger : List.of(
+            trigger(List.of("jira:issue_created"), null, null),
+            trigger(null, List.of("OTHER"), null),
+            trigger(null, null, "issuetype = Task")
+        )) {
+            assertThat(trigger.accept(this.runContext(trigger), event), is(false));
+        }
+    }
+
+    @Test
+    void invalidFilter() throws Exception {
+        JsonNode event = JacksonMapper.ofJson().readTree(EVENT);
+        WebhookTrigger trigger = trigger(null, null, "issuetype Bug");
+        RunContext runContext = this.runContext(trigger);
+
+        assertThrows(IllegalArgumentException.class, () -> trigger.accept(runContext, event));
+        // a filter that failed to parse is not cached
+        assertThrows(IllegalArgumentException.class, () -> trigger.accept(runContext, event));
+    }
+
+    @Test
+    void signature() throws Exception {
+        WebhookTrigger trigger = WebhookTrigger.builder()
+            .id("jira")
+            .type(WebhookTrigger.class.getName())
+            .key("key")
+            .secret(Property.ofValue("webhook-secret"))
+            .build();
+        RunContext runContext = this.runContext(trigger);
+        Flow flow = flow("signature");
+
+        assertThat(trigger.evaluate(runContext, request(EVENT, "sha256=" + hmac("webhook-secret", EVENT), "delivery-1"), flow).isPresent(), is(true));
+        assertThat(trigger.evaluate(runContext, request(EVENT, "sha256=" + hmac("other-secret", EVENT), "delivery-2"), flow).isPresent(), is(false));
+        assertThat(trigger.evaluate(runContext, request(EVENT, null, "delivery-3"), flow).isPresent(), is(false));
+    }
+
+    @Test
+    void deduplicate() throws Exception {
+        WebhookTrigger trigger = trigger(null, null, null);
+        RunContext runContext = this.runContext(trigger);
+        Flow flow = flow("deduplicate");
+
+        assertThat(trigger.evaluate(runContext, request(EVENT, null, "delivery-1"), flow).isPresent(), is(true));
+        // Jira retries the same delivery when the first attempt timed out
+        assertThat(trigger.evaluate(runContext, request(EVENT, null, "delivery-1"), flow).isPresent(), is(false));
+        assertThat(trigger.evaluate(runContext, request(EVENT, null, "delivery-2"), flow).isPresent(), is(true));
+        // without an identifier, the same body is the same delivery
+        assertThat(trigger.evaluate(runContext, request(EVENT, null, null), flow).isPresent(), is(true));
+        assertThat(trigger.evaluate(runContext, request(EVENT, null, null), flow).isPresent(), is(false));
+    }
+
+    private RunContext runContext(WebhookTrigger trigger) {
+        return TestsUtils.mockTrigger(this.runContextFactory, trigger).getKey().getRunContext();
+    }
+
+    private static WebhookTrigger trigger(List<String> events, List<String> projects, String filter) {
+        return WebhookTrigger.builder()
+            .id("jira")
+            .type(WebhookTrigger.class.getName())
+            .key("key")
+            .events(events == null ? null : Property.ofValue(events))
+            .projects(projects == null ? null : Property.ofValue(projects))
+            .filter(filter == null ? null : Property.ofValue(filter))
+            .build();
+    }
+
+    private static Flow flow(String id) {
+        return Flow.builder()
+            .id(id + "_" + System.nanoTime())
+            .namespace("io.kestra.tests")
+            .revision(1)
+            .build();
+    }
+
+    private static HttpRequest<String> request(String body, String signature, String delivery) {
+        MutableHttpRequest<String> request = HttpRequest.POST("/api/v1/main/executions/webhook/io.kestra.tests/jira/key", body);
+        if (signature != null) {
+            request.header("X-Hub-Signature", signature);
+        }
+        if (delivery != null) {
+            request.header("X-Atlassian-Webhook-Identifier", delivery);
+        }
+
+        return request;
+    }
+
+    private static String hmac(String secret, String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+
+        return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}